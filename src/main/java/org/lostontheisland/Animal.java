@@ -1,4 +1,5 @@
 package org.lostontheisland;
+import java.io.Serializable;
 /**
  * ANIMAL CLASS - Represents game animals
  *
@@ -8,11 +9,16 @@ package org.lostontheisland;
  * - Danger level (0 = harmless, 10 = very dangerous)
  * - Whether it is alive or dead
  */
-public class Animal {
+public class Animal implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;           // Animal name
     private String description;    // Animal description
     private int dangerLevel;       // Danger level (0-10)
     private boolean isAlive;       // Whether it's alive
+    private boolean frozen;        // Part of a shared template (read-only)
+    private Room location;         // Room where the animal lives (set by Room.addAnimal)
+    private int number = -1;       // Position in its template (-1 = not in a template)
 
     /**
      * CONSTRUCTOR - Creates a new animal
@@ -48,9 +54,51 @@ public class Animal {
      * Method to "kill" the animal (e.g., when player defeats the bear)
      */
     public void kill() {
+        if (frozen) {
+            throw new IllegalStateException("Animal " + name + " is shared: use WorldDelta.kill");
+        }
+        if (isAlive && location != null) {
+            location.animalKilled(this);   // Keeps the item index up to date
+        }
         this.isAlive = false;
     }
 
+    /**
+     * Sets the room where the animal lives (used by Room.addAnimal)
+     */
+    void setLocation(Room location) {
+        this.location = location;
+    }
+
+    /**
+     * Returns the room where the animal lives (null if not in a room)
+     */
+    Room getLocation() {
+        return location;
+    }
+
+    /**
+     * Sets the position of the animal in its template (used by WorldTemplate)
+     */
+    void setNumber(int number) {
+        this.number = number;
+    }
+
+    /**
+     * Returns the position of the animal in its template, or -1
+     * (WorldDelta uses it to remember which animals a game killed)
+     */
+    int getNumber() {
+        return number;
+    }
+
+    /**
+     * Makes the animal read-only (used by WorldTemplate)
+     */
+    void freeze() {
+        this.frozen = true;
+    }
+
     @Override
     public String toString() {
         String status = isAlive ? "alive" : "dead";
@@ -0,0 +1,79 @@
+package org.lostontheisland;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * EVENT RING CLASS - Sends game events to spectators without locks
+ *
+ * How it works:
+ * - The game (one single thread) writes events into a fixed circle of slots
+ * - Each spectator reads at its own pace, keeping its own position
+ * - When the circle is full, the oldest events are overwritten
+ * - A spectator that is too slow skips the lost events (they are counted)
+ *
+ * The game never waits for spectators, however many there are.
+ */
+public class EventRing {
+    private final AtomicReferenceArray<GameEvent> slots;  // The circle of events
+    private final int mask;                               // capacity - 1 (capacity is a power of 2)
+    private final AtomicLong published;                   // How many events were written
+
+    /**
+     * CONSTRUCTOR - Creates a new ring
+     * @param capacity How many events are kept (rounded up to a power of 2)
+     */
+    public EventRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.published = new AtomicLong();
+    }
+
+    /**
+     * Writes an event (only the game thread can call this)
+     * @param type What happened
+     * @param playerName Who did it
+     * @param detail Room, item or animal name
+     */
+    public void publish(GameEvent.Type type, String playerName, String detail) {
+        long sequence = published.get();
+        slots.set((int) sequence & mask, new GameEvent(type, sequence, playerName, detail));
+        // The event is stored before the count goes up, so readers never see an empty slot
+        published.lazySet(sequence + 1);
+    }
+
+    /**
+     * Creates a spectator that sees events from now on
+     */
+    public Spectator subscribe() {
+        return new Spectator(this, published.get());
+    }
+
+    /**
+     * Returns how many events were written so far
+     */
+    public long getPublished() {
+        return published.get();
+    }
+
+    /**
+     * Returns how many events the ring keeps
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Reads the event stored for a sequence number
+     * Can be a newer event if the slot was already reused
+     */
+    GameEvent slot(long sequence) {
+        return slots.get((int) sequence & mask);
+    }
+}
@@ -0,0 +1,137 @@
+package org.lostontheisland;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FAN-OUT BENCHMARK CLASS - Measures how fast one game feeds many spectators
+ *
+ * How it works:
+ * - One publisher thread writes events into an EventRing, as a game does
+ * - N spectator threads read the same ring, each at its own pace
+ * - When publishing ends, every spectator reads what is left
+ *
+ * At the end it shows the publish rate, how many events reached the
+ * spectators per second, and how many were lost by slow spectators.
+ * Running it with 1, 2, 4, 8... spectators shows that the publisher
+ * does not slow down when more spectators watch.
+ *
+ * Usage: FanOutBenchmark [spectators] [events] [capacity]
+ */
+public class FanOutBenchmark {
+    private final int spectators;       // How many reader threads
+    private final int events;           // How many events to publish
+    private final int capacity;         // Ring size
+
+    private volatile boolean publishing;    // False once the last event is out
+
+    /**
+     * CONSTRUCTOR - Prepares a benchmark run
+     * @param spectators How many reader threads
+     * @param events How many events to publish
+     * @param capacity Ring size
+     */
+    public FanOutBenchmark(int spectators, int events, int capacity) {
+        if (spectators < 1) {
+            throw new IllegalArgumentException("Need at least one spectator: " + spectators);
+        }
+        this.spectators = spectators;
+        this.events = events;
+        this.capacity = capacity;
+    }
+
+    /**
+     * One spectator thread: reads until the publisher is done and nothing is left
+     */
+    private final class Reader implements Runnable {
+        private final Spectator spectator;
+        private final CountDownLatch ready;
+        private long received;
+
+        Reader(Spectator spectator, CountDownLatch ready) {
+            this.spectator = spectator;
+            this.ready = ready;
+        }
+
+        @Override
+        public void run() {
+            ready.countDown();
+            while (true) {
+                // Read 'publishing' before polling, so no last event is missed
+                boolean more = publishing;
+                if (spectator.poll() != null) {
+                    received++;
+                } else if (!more) {
+                    break;
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmark and prints the report
+     */
+    public void run() throws InterruptedException {
+        EventRing ring = new EventRing(capacity);
+        CountDownLatch ready = new CountDownLatch(spectators);
+        Reader[] readers = new Reader[spectators];
+        Thread[] threads = new Thread[spectators];
+
+        publishing = true;
+        for (int i = 0; i < spectators; i++) {
+            readers[i] = new Reader(ring.subscribe(), ready);
+            threads[i] = new Thread(readers[i], "spectator-" + i);
+            threads[i].start();
+        }
+        ready.await();
+
+        // The publisher is this thread, like the game thread
+        long begin = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            ring.publish(GameEvent.Type.ROOM_ENTERED, "bench", "Beach");
+        }
+        long publishNanos = System.nanoTime() - begin;
+        publishing = false;
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        report(readers, publishNanos, elapsed);
+    }
+
+    /**
+     * Prints publish rate, delivery rate and losses
+     */
+    private void report(Reader[] readers, long publishNanos, long elapsed) {
+        long received = 0;
+        long dropped = 0;
+        for (Reader reader : readers) {
+            received += reader.received;
+            dropped += reader.spectator.getDropped();
+        }
+
+        System.out.println("\n=== Fan-out Report ===");
+        System.out.println("Spectators:  " + spectators + " (ring of " + capacity + ")");
+        System.out.println("Events:      " + events);
+        System.out.printf("Publish:     %.1f M events/s (%.1f ns each)%n",
+                events / (publishNanos / 1e3), (double) publishNanos / Math.max(1, events));
+        System.out.printf("Delivered:   %.1f M events/s to all spectators%n",
+                received / (elapsed / 1e3));
+        System.out.printf("Lost:        %d (%.2f%%)%n", dropped,
+                100.0 * dropped / Math.max(1, (long) events * spectators));
+        System.out.printf("Total time:  %.1f ms%n", elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Main method - starts a benchmark run
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int spectators = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+
+        new FanOutBenchmark(spectators, events, capacity).run();
+    }
+}
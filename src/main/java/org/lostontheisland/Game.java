@@ -1,4 +1,15 @@
 package org.lostontheisland;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.ObjectInputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
 import java.util.Scanner;
 
 
@@ -6,185 +17,425 @@ import java.util.Scanner;
  * GAME CLASS - Controls all game logic
  *
  * This is the main class that:
- * - Creates all rooms, items and animals
+ * - Starts from the shared island map (WorldTemplate)
  * - Processes player commands
  * - Controls game flow
  * - Checks victory and defeat conditions
  */
-public class Game {
+public class Game implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Items never change, so every caught fish can be the same object
+    private static final Item CAUGHT_FISH = new Item("fish", "A fresh fish", true);
+    private static final int EVENT_CAPACITY = 1024;     // Events kept for spectators
+
+    // Words the game understands: typed words are matched against these,
+    // so reading a command creates no new strings
+    private static final String[] COMMANDS = {
+        "go", "take", "catch", "drop", "inventory", "status",
+        "inspect", "eat", "drink", "use", "help", "quit"
+    };
+    private static final String[] WORDS = knownWords();
+    private static final String UNKNOWN_WORD = "?";    // Any word not in the lists
+
+    // Dangers of the island: WorldValidator checks maps with these same rules
+    static final String DEADLY_ANIMAL = "shark";    // Entering a room where it lives kills
+    static final String GUARD_ANIMAL = "bear";      // Entering its room needs the weapon
+    static final String GUARD_WEAPON = "knife";
+
     private Player player;          // The player
     private Room currentRoom;       // Current room
-    private Scanner scanner;        // To read player commands
+    private WorldDelta world;       // What this game changed in the map
+    private transient Scanner scanner;  // To read player commands
+    private transient PrintStream out;  // Where game messages are written
+    private transient volatile EventRing events;    // What spectators see (null = nobody watching yet)
+    private transient ByteArrayOutputStream commandBuffer;  // Reused output of runCommands
+    private transient OutputBuffer commandOut;               // Writes into commandBuffer
     private boolean finished;       // Whether the game ended
     private boolean hasGold;        // Whether player got the gold
+    private boolean won;            // Whether player won the game
+    private int turns;              // Commands typed so far
+    private transient World host;           // Shared world this game plays in (null = alone)
+    private transient Room resumeIn;        // Room whose shard runs the rest of the line (null = done)
+    private transient int resumeAt;         // Where the line goes on there (-1 = done)
+    private Room countedIn;                 // Room where the shared world counts this player
 
     /**
      * CONSTRUCTOR - Initializes the game
      */
     public Game() {
-        player = new Player();
-        scanner = new Scanner(System.in);
+        this("Survivor");
+    }
+
+    /**
+     * CONSTRUCTOR - Initializes the game for a named player
+     * @param playerName Player's name (used in the high scores)
+     */
+    public Game(String playerName) {
+        player = new Player(playerName);
+        out = System.out;
         finished = false;
         hasGold = false;
-        createRooms();  // Creates all rooms and connects them
+        won = false;
+        turns = 0;
+
+        // The game starts at sea, on the shared map
+        currentRoom = WorldTemplate.island().getStart();
+        world = new WorldDelta();
     }
 
     /**
-     * Creates all game rooms and their contents
-     * This is the game's "map"
+     * Starts the game and shows introduction
      */
-    private void createRooms() {
-        // Creating rooms
-        Room sea = new Room("Sea",
-                "You are floating in the sea after the storm. Sharks swim nearby!");
-        Room beach = new Room("Beach",
-                "A calm beach with white sand. You can see fruits on the palm trees.");
-        Room jungle = new Room("Jungle",
-                "A dense and dark jungle. You hear animal sounds everywhere.");
-        Room cave = new Room("Cave",
-                "A dark and scary cave. You feel something dangerous is here...");
-        Room mountain = new Room("Mountain",
-                "The top of the mountain. From here you can see the entire island!");
+    public void start() {
+        // Only console games read the keyboard (hosted and virtual players don't)
+        scanner = new Scanner(System.in);
+        printWelcome();
 
-        // Connects the rooms (defining exits)
-        // Sea -> Beach
-        sea.setExit("north", beach);
+        // Main game loop
+        while (!isFinished()) {
+            out.print("\n> ");
+            String input = scanner.nextLine().trim();
+            runCommands(input, out);
+        }
 
-        // Beach -> Sea, Jungle, Mountain
-        beach.setExit("south", sea);
-        beach.setExit("north", jungle);
-        beach.setExit("east", mountain);
+        // Final message
+        printGameOver();
+    }
 
-        // Jungle -> Beach, Cave
-        jungle.setExit("south", beach);
-        jungle.setExit("west", cave);
+    /**
+     * Displays welcome message
+     */
+    private void printWelcome() {
+        Messages.WELCOME.writeTo(out);
+        printRoom();
+    }
 
-        // Cave -> Jungle
-        cave.setExit("east", jungle);
+    /**
+     * Runs one or more commands separated by ';'
+     * (e.g., "take fruit; go north; take knife")
+     * Stops early if the player dies or wins
+     * Does nothing once the game is finished
+     * @param line Commands typed
+     * @return Everything the commands printed, in one buffer
+     */
+    public byte[] runCommands(String line) {
+        return runCommandsFrom(line, 0);
+    }
 
-        // Mountain -> Beach
-        mountain.setExit("west", beach);
+    /**
+     * Runs the commands of a line starting at a position
+     * In a shared world, stops before a command that needs a room of
+     * another shard (see getResumeIn and getResumeAt): the rest of the
+     * line must run on that shard
+     * @param line Commands typed
+     * @param start Where to start in the line
+     * @return Everything the commands printed, in one buffer
+     */
+    byte[] runCommandsFrom(String line, int start) {
+        bufferCommands(line, start, StandardCharsets.UTF_8);
+        return commandBuffer.toByteArray();
+    }
 
-        // Adds items to rooms
-        beach.addItem(new Item("fruit", "A juicy fruit", true));
-        beach.addItem(new Item("bottle", "An empty bottle", true));
-        jungle.addItem(new Item("woodstick", "A strong piece of wood", true));
-        jungle.addItem(new Item("knife", "A sharp knife", true));
-        cave.addItem(new Item("gold", "The island's treasure!", true));
+    /**
+     * Returns where the last line must go on, or -1 if it was finished
+     * (can be past the end of the line: then only the room changed shard)
+     */
+    int getResumeAt() {
+        return resumeAt;
+    }
 
-        // Adds animals to rooms
-        sea.addAnimal(new Animal("shark", "A dangerous shark", 8));
-        cave.addAnimal(new Animal("bear", "A huge fierce bear!", 10));
-        jungle.addAnimal(new Animal("fish", "A fish you can catch", 0));
+    /**
+     * Returns the room whose shard must run the rest of the last line,
+     * or null if it was finished
+     */
+    Room getResumeIn() {
+        return resumeIn;
+    }
 
-        // The game starts at sea
-        currentRoom = sea;
+    /**
+     * Same as runCommands(String), but copies the output straight to a sink
+     * The buffer is reused, so no new array is created for each line
+     * Text is encoded with the sink's charset if it is a PrintStream
+     * (e.g., the console), otherwise with UTF-8
+     * @param line Commands typed
+     * @param sink Where the output goes (console, socket, ...)
+     */
+    public void runCommands(String line, OutputStream sink) {
+        Charset charset = sink instanceof PrintStream
+                ? ((PrintStream) sink).charset() : StandardCharsets.UTF_8;
+        bufferCommands(line, 0, charset);
+        try {
+            commandBuffer.writeTo(sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write game output", e);
+        }
     }
 
     /**
-     * Starts the game and shows introduction
+     * Runs the commands, collecting their output in commandBuffer
+     * @param start Where to start in the line
+     * @param charset Charset for the text in the buffer
      */
-    public void start() {
-        printWelcome();
+    private void bufferCommands(String line, int start, Charset charset) {
+        if (commandBuffer == null) {
+            commandBuffer = new ByteArrayOutputStream(1024);
+        }
+        if (commandOut == null || !commandOut.charset().equals(charset)) {
+            commandOut = new OutputBuffer(commandBuffer, charset);
+        }
+        commandBuffer.reset();
+        resumeIn = null;
+        resumeAt = -1;
 
-        // Main game loop
-        while (!finished && player.isAlive()) {
-            System.out.print("\n> ");
-            String input = scanner.nextLine().trim();
-            processCommand(input);
+        // A finished game ignores extra lines (no output, no extra turns),
+        // and a line resumed past its end has nothing left to run
+        if (isFinished() || (start > 0 && start >= line.length())) {
+            return;
+        }
+
+        PrintStream console = out;
+        out = commandOut;
+        try {
+            // Splits by hand: split(";") would create an array on every line
+            while (true) {
+                int end = line.indexOf(';', start);
+                if (end < 0) {
+                    end = line.length();
+                }
+                processCommand(line, start, end);
+
+                // The command needs a room of another shard: it runs there, with the rest
+                if (resumeIn != null) {
+                    resumeAt = start;
+                    break;
+                }
+
+                // Checks if won or lost
+                checkGameStatus();
+
+                start = end + 1;
+                if (isFinished()) {
+                    break;
+                }
+
+                // The player is in a room of another shard (e.g., the bear sent them
+                // back): the rest of the line runs there, even if nothing is left
+                if (host != null && !host.isOwner(currentRoom)) {
+                    resumeIn = currentRoom;
+                    resumeAt = start;
+                    break;
+                }
 
-            // Checks if won or lost
-            checkGameStatus();
+                // Also stops after a final ';' with nothing after it
+                if (start >= line.length()) {
+                    break;
+                }
+            }
+            out.flush();
+        } finally {
+            out = console;
         }
+    }
 
-        // Final message
-        printGameOver();
+    /**
+     * Returns the events of this game, so spectators can subscribe
+     * The ring is created the first time someone asks for it
+     */
+    public synchronized EventRing getEvents() {
+        if (events == null) {
+            events = new EventRing(EVENT_CAPACITY);
+        }
+        return events;
     }
 
     /**
-     * Displays welcome message
+     * Returns the event ring if it was created, or null
+     * (used by SessionStore to keep it while the game hibernates)
      */
-    private void printWelcome() {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║   WELCOME TO LOST ON THE ISLAND!       ║");
-        System.out.println("╚════════════════════════════════════════╝");
-        System.out.println("\nYou woke up in the sea after a storm.");
-        System.out.println("Survive on the island and find the treasure!");
-        System.out.println("Be careful, dont forget to eat and drink.");
-        System.out.println("Good Luck!!!");
-        System.out.println("\nType 'help' to see the commands.");
-        System.out.println(currentRoom.getFullDescription());
+    EventRing peekEvents() {
+        return events;
+    }
+
+    /**
+     * Puts back the event ring of a revived game, so its spectators keep watching
+     */
+    synchronized void attachEvents(EventRing ring) {
+        events = ring;
+    }
+
+    /**
+     * Sends an event to the spectators, if there are any
+     * @param type What happened
+     * @param detail Room, item or animal name
+     */
+    private void publish(GameEvent.Type type, String detail) {
+        EventRing ring = events;
+        if (ring != null) {
+            ring.publish(type, player.getName(), detail);
+        }
+    }
+
+    /**
+     * Returns the room the player is in
+     */
+    Room getCurrentRoom() {
+        return currentRoom;
+    }
+
+    /**
+     * Makes this game part of a shared world (see World.join)
+     */
+    void setHost(World host) {
+        this.host = host;
+    }
+
+    /**
+     * Returns the shared world this game plays in, or null if it plays alone
+     */
+    World getHost() {
+        return host;
+    }
+
+    /**
+     * Returns the room where the shared world counts this player (null = none)
+     */
+    Room getCountedIn() {
+        return countedIn;
+    }
+
+    void setCountedIn(Room room) {
+        countedIn = room;
+    }
+
+    /**
+     * Returns what this game changed in the map
+     * (also answers "where is" questions, e.g., for hints)
+     * In a shared world, rooms change in the world instead (see roomState)
+     */
+    public WorldDelta getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns where the changes to a room are kept:
+     * this game's own copy, or the shared world's (owner thread only)
+     */
+    private WorldDelta roomState(Room room) {
+        return host == null ? world : host.stateOf(room);
+    }
+
+    /**
+     * Checks if the game is over (won, lost or quit)
+     */
+    public boolean isFinished() {
+        return finished || !player.isAlive();
     }
 
     /**
      * Processes command typed by player
-     * @param input Complete command typed
+     * The command is read where it is in the line (no copies are made)
+     * @param line Line typed
+     * @param start Where the command starts in the line
+     * @param end Where it ends (the ';' or the end of the line)
      */
-    private void processCommand(String input) {
-        // Divides command into words
-        String[] words = input.toLowerCase().split(" ");
-        String command = words[0];
+    private void processCommand(String line, int start, int end) {
+        // Skips spaces around the command (like trim)
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        // Divides command into the command word and its argument
+        int space = line.indexOf(' ', start);
+        if (space >= end) {
+            space = -1;
+        }
+        String command = knownWord(line, start, space < 0 ? end : space, COMMANDS);
+        String argument = null;
+        if (space >= 0) {
+            // Like split(" ")[1]: the argument ends at the next space
+            int wordEnd = line.indexOf(' ', space + 1);
+            if (wordEnd < 0 || wordEnd > end) {
+                wordEnd = end;
+            }
+            argument = knownWord(line, space + 1, wordEnd, WORDS);
+        }
+
+        // In a shared world, a move into a room of another shard runs on that shard
+        // (nothing changes here, not even the turn count)
+        if (host != null && command.equals("go") && argument != null) {
+            Room nextRoom = currentRoom.getExit(argument);
+            if (nextRoom != null && !host.isOwner(nextRoom)) {
+                resumeIn = nextRoom;
+                return;
+            }
+        }
+
+        turns++;
 
         // Processes each command
         switch (command) {
             case "go":
-                if (words.length > 1) {
-                    goRoom(words[1]);
+                if (argument != null) {
+                    goRoom(argument);
                     // Each action, player loses water and food
                     player.decreaseStats();
 
                 } else {
-                    System.out.println("Go where? (north, south, east, west)");
+                    Messages.GO_WHERE.writeTo(out);
                 }
                 break;
 
             case "take":
-                if (words.length > 1) {
-                    takeItem(words[1]);
+                if (argument != null) {
+                    takeItem(argument);
                     // Each action, player loses water and food
                     player.decreaseStats();
                 } else {
-                    System.out.println("Take what?");
+                    Messages.TAKE_WHAT.writeTo(out);
                 }
                 break;
 
             case"catch":
-                if (words.length > 1) {
-                    catchAnimal(words[1]);
+                if (argument != null) {
+                    catchAnimal(argument);
                     // Each action, player loses water and food
                     player.decreaseStats();
                 } else {
-                    System.out.println("Catch what?");
+                    Messages.CATCH_WHAT.writeTo(out);
                 }
                 break;
 
             case "drop":
-                if (words.length > 1) {
-                    dropItem(words[1]);
+                if (argument != null) {
+                    dropItem(argument);
                     // Each action, player loses water and food
                     player.decreaseStats();
                 } else {
-                    System.out.println("Drop what?");
+                    Messages.DROP_WHAT.writeTo(out);
                 }
                 break;
 
             case "inventory":
-                System.out.println(player.showInventory());
+                player.printInventory(out);
                 break;
 
             case "status":
-                System.out.println(player.showStatus());
+                player.printStatus(out);
                 break;
 
             case "inspect":
-                System.out.println(currentRoom.getFullDescription());
+                printRoom();
                 break;
 
             case "eat":
-                if (words.length > 1) {
-                    eatItem(words[1]);
+                if (argument != null) {
+                    eatItem(argument);
                 } else {
-                    System.out.println("Eat what?");
+                    Messages.EAT_WHAT.writeTo(out);
                 }
                 break;
 
@@ -193,12 +444,12 @@ public class Game {
                 break;
 
             case "use":
-                if (words.length > 1) {
-                    useItem(words[1]);
+                if (argument != null) {
+                    useItem(argument);
                     // Each action, player loses water and food
                     player.decreaseStats();
                 } else {
-                    System.out.println("Use what?");
+                    Messages.USE_WHAT.writeTo(out);
                 }
                 break;
 
@@ -208,14 +459,62 @@ public class Game {
 
             case "quit":
                 finished = true;
-                System.out.println("Thanks for playing!");
+                Messages.THANKS.writeTo(out);
                 break;
 
             default:
-                System.out.println("Command not recognized. Type 'help' for help.");
+                Messages.UNKNOWN_COMMAND.writeTo(out);
         }
     }
 
+    /**
+     * Finds a typed word in a list of known words, ignoring case
+     * @param line Line typed
+     * @param start Where the word starts
+     * @param end Where it ends
+     * @param words Known words
+     * @return The known word (lowercase) or UNKNOWN_WORD
+     */
+    private static String knownWord(String line, int start, int end, String[] words) {
+        int length = end - start;
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (word.length() == length && line.regionMatches(true, start, word, 0, length)) {
+                return word;
+            }
+        }
+        return UNKNOWN_WORD;
+    }
+
+    /**
+     * Collects every direction, item and animal name of the island
+     * (the only words a command argument can usefully be)
+     */
+    private static String[] knownWords() {
+        LinkedHashSet<String> words = new LinkedHashSet<>();
+        for (Room room : WorldTemplate.island().getRooms()) {
+            for (String direction : room.getExitDirections()) {
+                words.add(direction.toLowerCase());
+            }
+            for (Item item : room.getItems()) {
+                words.add(item.getName().toLowerCase());
+            }
+            for (Animal animal : room.getAnimals()) {
+                words.add(animal.getName().toLowerCase());
+            }
+        }
+        words.add(CAUGHT_FISH.getName());
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Writes the room the player is in
+     */
+    private void printRoom() {
+        roomState(currentRoom).describe(currentRoom, out);
+        out.println();
+    }
+
     /**
      * Moves player to another room
      * @param direction Direction (north, south, east, west)
@@ -224,34 +523,31 @@ public class Game {
         Room nextRoom = currentRoom.getExit(direction);
 
         if (nextRoom == null) {
-            System.out.println("You can't go that way!");
+            Messages.CANT_GO.writeTo(out);
             return;
         }
 
-        // Checks for special dangers
-        if (nextRoom.getName().equals("Sea")) {
-            Animal shark = nextRoom.getAnimal("shark");
-            if (shark != null && shark.isAlive()) {
-                System.out.println("A shark attacks you! You died!");
+        // Checks for special dangers (in any room where the animal lives)
+        WorldDelta rooms = roomState(nextRoom);
+        Animal shark = rooms.getLiveAnimal(nextRoom, DEADLY_ANIMAL);
+        if (shark != null) {
+            Messages.SHARK_ATTACK.writeTo(out);
 
-                player.forceDeath(); // forcing death
-                return;
-            }
+            player.forceDeath(); // forcing death
+            return;
         }
 
-        // Checks for bear in cave
-        if (nextRoom.getName().equals("Cave")) {
-            Animal bear = nextRoom.getAnimal("bear");
-            if (bear != null && bear.isAlive() && !player.hasItem("knife")) {
-                System.out.println("A fierce bear attacks you! You need a knife!");
-                System.out.println("You flee back to the jungle!");
-                return;
-            }
+        // Checks for a bear guarding the room
+        Animal bear = rooms.getLiveAnimal(nextRoom, GUARD_ANIMAL);
+        if (bear != null && !player.hasItem(GUARD_WEAPON)) {
+            Messages.BEAR_ATTACK.writeTo(out);
+            return;
         }
 
         // Moves to new room
         currentRoom = nextRoom;
-        System.out.println(currentRoom.getFullDescription());
+        publish(GameEvent.Type.ROOM_ENTERED, currentRoom.getName());
+        printRoom();
     }
 
     /**
@@ -259,27 +555,29 @@ public class Game {
      * @param itemName Item name
      */
     private void takeItem(String itemName) {
-        Item item = currentRoom.removeItem(itemName);
+        WorldDelta rooms = roomState(currentRoom);
+        Item item = rooms.removeItem(currentRoom, itemName);
 
         if (item == null) {
-            System.out.println("That item is not here.");
+            Messages.ITEM_NOT_HERE.writeTo(out);
             return;
         }
 
         // Checks if it's the gold (need to defeat bear first)
         if (itemName.equals("gold")) {
-            Animal bear = currentRoom.getAnimal("bear");
-            if (bear != null && bear.isAlive()) {
-                System.out.println("The bear is guarding the gold! You need to defeat it first!");
-                currentRoom.addItem(item); // Returns the gold
+            Animal bear = rooms.getLiveAnimal(currentRoom, "bear");
+            if (bear != null) {
+                Messages.BEAR_GUARDS_GOLD.writeTo(out);
+                rooms.addItem(currentRoom, item); // Returns the gold
                 return;
             }
             hasGold = true;
-            System.out.println("YOU GOT THE GOLD! Now return to the beach to win!");
+            Messages.GOT_GOLD.writeTo(out);
         }
 
         player.addItem(item);
-        System.out.println("You took: " + item.getName());
+        publish(GameEvent.Type.ITEM_TAKEN, item.getName());
+        Messages.TOOK.writeTo(out, item.getName());
     }
 
     /**
@@ -290,12 +588,12 @@ public class Game {
         Item item = player.removeItem(itemName);
 
         if (item == null) {
-            System.out.println("You don't have that item.");
+            Messages.DONT_HAVE_ITEM.writeTo(out);
             return;
         }
 
-        currentRoom.addItem(item);
-        System.out.println("You dropped: " + item.getName());
+        roomState(currentRoom).addItem(currentRoom, item);
+        Messages.DROPPED.writeTo(out, item.getName());
     }
 
     /**
@@ -306,13 +604,13 @@ public class Game {
         if (itemName.equals("fruit") && player.hasItem("fruit")) {
             player.removeItem("fruit");
             player.eat(30);
-            System.out.println("You ate the fruit. Food +30%");
+            Messages.ATE.writeTo(out, "fruit", 30);
         } else if (itemName.equals("fish") && player.hasItem("fish")) {
             player.removeItem("fish");
             player.eat(40);
-            System.out.println("You ate the fish. Food +40%");
+            Messages.ATE.writeTo(out, "fish", 40);
         } else {
-            System.out.println("You can't eat that!");
+            Messages.CANT_EAT.writeTo(out);
         }
     }
 
@@ -321,18 +619,18 @@ public class Game {
      */
     private void drinkWater() {
         if (!player.hasItem("bottle")) {
-            System.out.println("You need a bottle first!");
+            Messages.NEED_BOTTLE.writeTo(out);
             return;
         }
 
         if (!player.isBottleFilled()) {
-            System.out.println("The bottle is empty! Use 'use bottle' at the sea to fill it.");
+            Messages.BOTTLE_EMPTY.writeTo(out);
             return;
         }
 
         player.drink(80);
         player.emptyBottle();
-        System.out.println("You drank water. Water +80%");
+        Messages.DRANK.writeTo(out, 80);
     }
 
     /**go
@@ -341,27 +639,28 @@ public class Game {
      */
     private void useItem(String itemName) {
         if (itemName.equals("knife")) {
-            Animal bear = currentRoom.getAnimal("bear");
-            if (bear != null && bear.isAlive() && player.hasItem("knife")) {
-                bear.kill();
-                System.out.println("You defeated the bear with the knife!");
-                System.out.println("Now you can take the gold!");
+            WorldDelta rooms = roomState(currentRoom);
+            Animal bear = rooms.getLiveAnimal(currentRoom, "bear");
+            if (bear != null && player.hasItem("knife")) {
+                rooms.kill(currentRoom, bear);
+                publish(GameEvent.Type.ANIMAL_KILLED, bear.getName());
+                Messages.BEAR_DEFEATED.writeTo(out);
             } else {
-                System.out.println("There's nothing to use the knife on here.");
+                Messages.NOTHING_TO_KNIFE.writeTo(out);
             }
         } else if (itemName.equals("bottle")) {
             if (currentRoom.getName().equals("Sea") || currentRoom.getName().equals("Beach")) {
                 if (player.hasItem("bottle")) {
                     player.fillBottle();
-                    System.out.println("You filled the bottle with sea water!");
+                    Messages.BOTTLE_FILLED.writeTo(out);
                 } else {
-                    System.out.println("You don't have the bottle!");
+                    Messages.DONT_HAVE_BOTTLE.writeTo(out);
                 }
             } else {
-                System.out.println("You need to be near the sea to fill the bottle.");
+                Messages.NOT_NEAR_SEA.writeTo(out);
             }
         } else {
-            System.out.println("You can't use that item now.");
+            Messages.CANT_USE.writeTo(out);
         }
     }
     /**
@@ -371,23 +670,24 @@ public class Game {
     private void catchAnimal(String animalName) {
         // Only fish can be caught
         if (animalName.equals("fish")) {
-            Animal fish = currentRoom.getAnimal("fish");
+            WorldDelta rooms = roomState(currentRoom);
+            Animal fish = rooms.getLiveAnimal(currentRoom, "fish");
 
             // Check if fish exists and is alive
-            if (fish != null && fish.isAlive()) {
+            if (fish != null) {
                 // "Kill" the fish (remove from room)
-                fish.kill();
+                rooms.kill(currentRoom, fish);
+                publish(GameEvent.Type.ANIMAL_KILLED, fish.getName());
 
                 // Create fish as an item and add to inventory
-                Item fishItem = new Item("fish", "A fresh fish", true);
-                player.addItem(fishItem);
+                player.addItem(CAUGHT_FISH);
 
-                System.out.println("You caught the fish! You can eat it now.");
+                Messages.CAUGHT_FISH.writeTo(out);
             } else {
-                System.out.println("There's no fish here to catch.");
+                Messages.NO_FISH.writeTo(out);
             }
         } else {
-            System.out.println("You can't catch that!");
+            Messages.CANT_CATCH.writeTo(out);
         }
     }
 
@@ -397,22 +697,20 @@ public class Game {
     private void checkGameStatus() {
         // Victory: has gold and is at beach
         if (hasGold && currentRoom.getName().equals("Beach")) {
-            System.out.println("\n╔════════════════════════════════════════╗");
-            System.out.println("║         YOU WON THE GAME!              ║");
-            System.out.println("╚════════════════════════════════════════╝");
-            System.out.println("You found the gold and escaped the island!");
+            Messages.VICTORY.writeTo(out);
+            won = true;
+            publish(GameEvent.Type.PLAYER_WON, currentRoom.getName());
             finished = true;
         }
 
         // Defeat: died from hunger or thirst
         if (!player.isAlive()) {
-            System.out.println("\n╔════════════════════════════════════════╗");
-            System.out.println("║          GAME OVER                     ║");
-            System.out.println("╚════════════════════════════════════════╝");
+            Messages.GAME_OVER.writeTo(out);
+            publish(GameEvent.Type.PLAYER_DIED, currentRoom.getName());
             if (player.getWaterLevel() <= 0) {
-                System.out.println("You died of thirst...");
+                Messages.DIED_OF_THIRST.writeTo(out);
             } else if (player.getFoodLevel() <= 0) {
-                System.out.println("You died of hunger...");
+                Messages.DIED_OF_HUNGER.writeTo(out);
             }
             finished = true;
         }
@@ -422,34 +720,68 @@ public class Game {
      * Shows all available commands
      */
     private void showHelp() {
-        System.out.println("\n=== AVAILABLE COMMANDS ===");
-        System.out.println("go [direction]   - Move (north, south, east, west)");
-        System.out.println("take [item]      - Take an item");
-        System.out.println("catch [animal]   - Catch an animal (fish)");
-        System.out.println("drop [item]      - Drop an item");
-        System.out.println("inventory        - View your inventory");
-        System.out.println("status           - View your water and food levels");
-        System.out.println("inspect          - Examine the current room");
-        System.out.println("eat [item]       - Eat (fruit, fish)");
-        System.out.println("drink            - Drink water from bottle");
-        System.out.println("use [item]       - Use a special item");
-        System.out.println("help             - Show this help");
-        System.out.println("quit             - Exit the game");
+        Messages.HELP.writeTo(out);
     }
 
     /**
      * Final game message
      */
     private void printGameOver() {
-        System.out.println("\nThank you for playing Lost on the Island!");
+        Messages.GOODBYE.writeTo(out);
         scanner.close();
     }
 
+    /**
+     * Restores a game that was saved (e.g., by SessionStore)
+     * Output and events are not saved: the output is the console again,
+     * and SessionStore puts the event ring back
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        out = System.out;
+    }
+
+    /**
+     * Returns the result of the game (for the high scores)
+     * @return Record with turns, final levels and outcome
+     */
+    public ScoreRecord getResult() {
+        ScoreRecord.Outcome outcome;
+        if (won) {
+            outcome = ScoreRecord.Outcome.WON;
+        } else if (!player.isAlive()) {
+            outcome = ScoreRecord.Outcome.DIED;
+        } else {
+            outcome = ScoreRecord.Outcome.QUIT;
+        }
+        return new ScoreRecord(player.getName(), turns,
+                player.getWaterLevel(), player.getFoodLevel(), outcome);
+    }
+
+    /**
+     * Shows the best games ever played
+     * @param highScores Where the scores are stored
+     */
+    private void showHighScores(HighScores highScores) {
+        Messages.HIGH_SCORES.writeTo(out);
+        int position = 1;
+        for (ScoreRecord record : highScores.topK(5)) {
+            Messages.HIGH_SCORE_LINE.writeTo(out, position, record);
+            position++;
+        }
+    }
+
     /**
      * Main method - starts the program
+     * The first argument (optional) is the player's name
      */
     public static void main(String[] args) {
-        Game game = new Game();
+        Game game = args.length > 0 ? new Game(args[0]) : new Game();
         game.start();
+
+        HighScores highScores = new HighScores(Paths.get("highscores.txt"));
+        highScores.record(game.getResult());
+        game.showHighScores(highScores);
+        highScores.close();
     }
 }
\ No newline at end of file
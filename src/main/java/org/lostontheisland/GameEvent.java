@@ -0,0 +1,62 @@
+package org.lostontheisland;
+/**
+ * GAME EVENT CLASS - Something that happened in a game
+ *
+ * Spectators receive these events to watch a game live.
+ * Each event has:
+ * - Type (e.g., the player entered a room)
+ * - Sequence number (position in the event ring)
+ * - Player name and a detail (e.g., room, item or animal name)
+ *
+ * Events never change after they are created.
+ */
+public final class GameEvent {
+
+    /**
+     * Kinds of events spectators can see
+     */
+    public enum Type {
+        ROOM_ENTERED, ITEM_TAKEN, ANIMAL_KILLED, PLAYER_DIED, PLAYER_WON
+    }
+
+    private final Type type;            // What happened
+    private final long sequence;        // Position in the ring
+    private final String playerName;    // Who did it
+    private final String detail;        // Room, item or animal name
+
+    /**
+     * CONSTRUCTOR - Creates a new event
+     * @param type What happened
+     * @param sequence Position in the ring
+     * @param playerName Who did it
+     * @param detail Room, item or animal name
+     */
+    public GameEvent(Type type, long sequence, String playerName, String detail) {
+        this.type = type;
+        this.sequence = sequence;
+        this.playerName = playerName;
+        this.detail = detail;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + playerName + " " + type + " " + detail;
+    }
+}
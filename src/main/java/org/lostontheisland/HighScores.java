@@ -0,0 +1,288 @@
+package org.lostontheisland;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HIGH SCORES CLASS - Stores the result of every finished game
+ *
+ * How it works:
+ * - Every record is appended as one line to a local file
+ * - All records are also kept in memory, sorted from best to worst
+ * - The best record of each player is kept in a map
+ * - Writing to the file happens on a background thread,
+ *   so the game never waits for the disk
+ *
+ * Queries (top K, best of a player) only read the memory,
+ * so they stay fast even with millions of records.
+ *
+ * Compaction: only two kinds of records are worth keeping
+ * - The best N records of all players (the top list)
+ * - The best record of each player
+ * Everything else is dropped, from memory and from the file. Appending
+ * makes the file grow, so once it has twice as many lines as the last
+ * compaction kept (and at least 2 * N), it is compacted again.
+ */
+public final class HighScores implements AutoCloseable {
+    private static final int DEFAULT_KEEP_TOP = 100;           // Top records kept by default
+
+    private final Path file;                                   // Scores file
+    private final int keepTop;                                 // How many top records are kept
+    private final TreeSet<Ranked> ranking;                     // Kept records, best first
+    private final HashMap<String, Ranked> bestByPlayer;        // Player name -> best record
+    private final ExecutorService writer;                      // Background file writer
+    private long nextSequence;                                 // Keeps equal scores apart
+    private int linesInFile;                                   // Lines in the file (broken ones too)
+    private int linesKept;                                     // Lines the last compaction wrote
+    private BufferedWriter fileWriter;                         // Only used by the writer thread
+
+    /**
+     * Record plus the order it arrived in
+     * Two games can have the same score, and both must be kept
+     */
+    private static final class Ranked implements Comparable<Ranked> {
+        private final ScoreRecord record;
+        private final long sequence;
+
+        Ranked(ScoreRecord record, long sequence) {
+            this.record = record;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int result = record.compareTo(other.record);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * CONSTRUCTOR - Loads the scores file (if it exists), keeping the top 100
+     * @param file Path of the scores file
+     */
+    public HighScores(Path file) {
+        this(file, DEFAULT_KEEP_TOP);
+    }
+
+    /**
+     * CONSTRUCTOR - Loads the scores file (if it exists)
+     * Broken lines (e.g., from a crash in the middle of a write) are skipped,
+     * and the file is compacted in the background to remove them
+     * @param file Path of the scores file
+     * @param keepTop How many of the best records are kept (besides each player's best)
+     */
+    public HighScores(Path file, int keepTop) {
+        if (keepTop < 1) {
+            throw new IllegalArgumentException("keepTop must be at least 1");
+        }
+        this.file = file;
+        this.keepTop = keepTop;
+        this.ranking = new TreeSet<>();
+        this.bestByPlayer = new HashMap<>();
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "high-scores-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int brokenLines = load();
+        if (brokenLines > 0 || isFileTooBig()) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads all records from the file into memory
+     * @return How many broken lines were found
+     */
+    private int load() {
+        int brokenLines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesInFile++;
+                ScoreRecord record = ScoreRecord.fromLine(line);
+                if (record == null) {
+                    brokenLines++;
+                } else {
+                    addToIndex(record);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First game ever: nothing to load
+        } catch (IOException e) {
+            System.err.println("Could not read high scores: " + e.getMessage());
+        }
+        return brokenLines;
+    }
+
+    /**
+     * Adds a record to the in-memory index
+     */
+    private void addToIndex(ScoreRecord record) {
+        Ranked ranked = new Ranked(record, nextSequence++);
+        ranking.add(ranked);
+
+        Ranked best = bestByPlayer.get(record.getPlayerName());
+        if (best == null || ranked.compareTo(best) < 0) {
+            bestByPlayer.put(record.getPlayerName(), ranked);
+        }
+    }
+
+    /**
+     * Checks if enough lines were appended since the last compaction
+     */
+    private boolean isFileTooBig() {
+        return linesInFile >= 2 * Math.max(linesKept, keepTop);
+    }
+
+    /**
+     * Records a finished game
+     * Returns right away: the file is written in the background
+     * @param record Result of the game
+     */
+    public synchronized void record(ScoreRecord record) {
+        addToIndex(record);
+        String line = record.toLine();
+        writer.execute(() -> append(line));
+
+        linesInFile++;
+        if (isFileTooBig()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the K best records
+     * @param k How many records
+     * @return Best records, best first
+     */
+    public synchronized List<ScoreRecord> topK(int k) {
+        List<ScoreRecord> top = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Ranked> iterator = ranking.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next().record);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the best record of a player
+     * @param playerName Player name
+     * @return The best record or null if the player never played
+     */
+    public synchronized ScoreRecord bestOf(String playerName) {
+        Ranked best = bestByPlayer.get(playerName);
+        return best == null ? null : best.record;
+    }
+
+    /**
+     * Returns how many records are kept
+     */
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Drops every record that is neither in the top N nor a player's best,
+     * then rewrites the file with the records left
+     * The file is written in the background, after all records already queued
+     */
+    public synchronized void compact() {
+        TreeSet<Ranked> kept = new TreeSet<>(bestByPlayer.values());
+        Iterator<Ranked> iterator = ranking.iterator();
+        for (int i = 0; i < keepTop && iterator.hasNext(); i++) {
+            kept.add(iterator.next());
+        }
+        ranking.retainAll(kept);
+
+        // The copy is taken now, so it has exactly the records queued before it
+        List<String> lines = new ArrayList<>(ranking.size());
+        for (Ranked ranked : ranking) {
+            lines.add(ranked.record.toLine());
+        }
+        linesInFile = lines.size();
+        linesKept = lines.size();
+        writer.execute(() -> rewrite(lines));
+    }
+
+    /**
+     * Appends one line to the file (writer thread only)
+     */
+    private void append(String line) {
+        try {
+            if (fileWriter == null) {
+                fileWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            fileWriter.write(line);
+            fileWriter.newLine();
+            fileWriter.flush();
+        } catch (IOException e) {
+            System.err.println("Could not save score: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the file with the given lines (writer thread only)
+     * A temporary file is written first, so a crash never loses the old file
+     */
+    private void rewrite(List<String> lines) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            closeFileWriter();
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not compact high scores: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the open file (writer thread only)
+     */
+    private void closeFileWriter() throws IOException {
+        if (fileWriter != null) {
+            fileWriter.close();
+            fileWriter = null;
+        }
+    }
+
+    /**
+     * Waits for all pending writes and closes the file
+     */
+    @Override
+    public void close() {
+        writer.execute(() -> {
+            try {
+                closeFileWriter();
+            } catch (IOException e) {
+                System.err.println("Could not close high scores: " + e.getMessage());
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
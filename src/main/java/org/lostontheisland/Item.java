@@ -1,4 +1,5 @@
 package org.lostontheisland;
+import java.io.Serializable;
 /**
  * ITEM CLASS - Represents game objects
  *
@@ -7,7 +8,9 @@ package org.lostontheisland;
  * - Detailed description
  * - Whether it can be used or not
  */
-public class Item {
+public class Item implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     // Private attributes - encapsulation
     private String name;        // Item name (e.g., "knife")
     private String description; // Item description
@@ -0,0 +1,215 @@
+package org.lostontheisland;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * ITEM INDEX CLASS - Where every item and live animal is
+ *
+ * Answers questions like "which rooms have gold?" or
+ * "how many fish are left?" without walking every room.
+ *
+ * The index is updated a little at a time, by the rooms themselves:
+ * Room.addItem, Room.removeItem, Room.addAnimal and Animal.kill.
+ * Names are used exactly as given (the game uses lowercase names).
+ *
+ * For each name, the rooms that still have some are kept in a list
+ * of their own, so "which rooms have it?" only walks the answer,
+ * not every room that ever had the name.
+ */
+public class ItemIndex {
+    private final HashMap<String, Counts> items;      // Item name -> where it is
+    private final HashMap<String, Counts> animals;    // Animal name -> where it lives
+
+    /**
+     * Count of one name in one room
+     */
+    private static final class RoomCount {
+        private final String roomName;
+        private int count;              // How many in the room
+        private int position = -1;      // Position in Counts.live (-1 = count is 0)
+
+        RoomCount(String roomName) {
+            this.roomName = roomName;
+        }
+    }
+
+    /**
+     * Where one name is: a count per room, and the rooms with a count above 0
+     */
+    private static final class Counts {
+        private final HashMap<String, RoomCount> byRoom = new HashMap<>();   // Room name -> count
+        private final ArrayList<RoomCount> live = new ArrayList<>();          // Counts above 0
+        private final Set<String> liveRooms = new LiveRooms(this);            // Read-only view of live
+        private int total;                                                    // All rooms together
+    }
+
+    /**
+     * READ-ONLY VIEW of the rooms in Counts.live
+     * Nothing is copied: it always shows the index as it is now
+     */
+    private static final class LiveRooms extends AbstractSet<String> {
+        private final Counts counts;
+
+        LiveRooms(Counts counts) {
+            this.counts = counts;
+        }
+
+        @Override
+        public int size() {
+            return counts.live.size();
+        }
+
+        @Override
+        public boolean contains(Object roomName) {
+            RoomCount room = counts.byRoom.get(roomName);
+            return room != null && room.count > 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<RoomCount> rooms = counts.live.iterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return rooms.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return rooms.next().roomName;
+                }
+            };
+        }
+    }
+
+    /**
+     * CONSTRUCTOR - Creates an empty index
+     */
+    public ItemIndex() {
+        this.items = new HashMap<>();
+        this.animals = new HashMap<>();
+    }
+
+    // Updates (called by Room, Animal and WorldDelta)
+    void itemAdded(String roomName, String itemName) {
+        change(items, roomName, itemName, 1);
+    }
+
+    void itemRemoved(String roomName, String itemName) {
+        change(items, roomName, itemName, -1);
+    }
+
+    void animalAdded(String roomName, String animalName) {
+        change(animals, roomName, animalName, 1);
+    }
+
+    void animalRemoved(String roomName, String animalName) {
+        change(animals, roomName, animalName, -1);
+    }
+
+    /**
+     * Adds (or subtracts) one from the counts of a name in a room
+     * A room joins the live list when its count leaves 0 and is taken out
+     * (swapped with the last one) when it gets back to 0
+     * Counts that get to 0 are kept: when the item comes back (e.g., it is
+     * dropped again), the same entries are reused and no objects are created
+     */
+    private static void change(HashMap<String, Counts> byName,
+                               String roomName, String name, int amount) {
+        Counts counts = byName.get(name);
+        if (counts == null) {
+            counts = new Counts();
+            byName.put(name, counts);
+        }
+        RoomCount room = counts.byRoom.get(roomName);
+        if (room == null) {
+            room = new RoomCount(roomName);
+            counts.byRoom.put(roomName, room);
+        }
+
+        room.count += amount;
+        counts.total += amount;
+        if (room.count > 0 && room.position < 0) {
+            room.position = counts.live.size();
+            counts.live.add(room);
+        } else if (room.count <= 0 && room.position >= 0) {
+            RoomCount last = counts.live.remove(counts.live.size() - 1);
+            if (last != room) {
+                last.position = room.position;
+                counts.live.set(room.position, last);
+            }
+            room.position = -1;
+        }
+    }
+
+    // Queries
+
+    /**
+     * Returns the names of the rooms that have an item
+     * @param itemName Item name (e.g., "gold")
+     * @return Room names (read-only view that follows later changes, empty if nowhere)
+     */
+    public Set<String> roomsWithItem(String itemName) {
+        return roomsOf(items, itemName);
+    }
+
+    /**
+     * Returns how many of an item are in all rooms together
+     */
+    public int countItem(String itemName) {
+        Counts counts = items.get(itemName);
+        return counts == null ? 0 : counts.total;
+    }
+
+    /**
+     * Returns how many of an item are in one room
+     */
+    public int countItemIn(String roomName, String itemName) {
+        return countIn(items, roomName, itemName);
+    }
+
+    /**
+     * Returns the names of the rooms that have a live animal
+     * @param animalName Animal name (e.g., "fish")
+     * @return Room names (read-only view that follows later changes, empty if nowhere)
+     */
+    public Set<String> roomsWithAnimal(String animalName) {
+        return roomsOf(animals, animalName);
+    }
+
+    /**
+     * Returns how many of an animal are still alive
+     */
+    public int countAnimal(String animalName) {
+        Counts counts = animals.get(animalName);
+        return counts == null ? 0 : counts.total;
+    }
+
+    /**
+     * Returns how many of an animal are alive in one room
+     */
+    public int countAnimalIn(String roomName, String animalName) {
+        return countIn(animals, roomName, animalName);
+    }
+
+    /**
+     * Returns the rooms where a name has a count above 0
+     */
+    private static Set<String> roomsOf(HashMap<String, Counts> byName, String name) {
+        Counts counts = byName.get(name);
+        return counts == null ? Collections.emptySet() : counts.liveRooms;
+    }
+
+    private static int countIn(HashMap<String, Counts> byName, String roomName, String name) {
+        Counts counts = byName.get(name);
+        if (counts == null) {
+            return 0;
+        }
+        RoomCount room = counts.byRoom.get(roomName);
+        return room == null ? 0 : room.count;
+    }
+}
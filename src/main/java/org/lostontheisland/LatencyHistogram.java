@@ -0,0 +1,110 @@
+package org.lostontheisland;
+/**
+ * LATENCY HISTOGRAM CLASS - Counts latencies in a fixed number of buckets
+ *
+ * Keeping every latency needs memory that grows with the run (and that
+ * memory itself makes the garbage collector work). Instead, each latency
+ * only adds one to the count of its bucket:
+ * - Values below 128 ns have one bucket each (exact)
+ * - Bigger values share buckets whose size doubles with each power of 2,
+ *   64 buckets per power, so the error is always below 1/64 (about 1.6%)
+ *
+ * The array has the same size (about 30 KB) however long the run is,
+ * and recording a value never creates objects.
+ *
+ * Used by one thread at a time; histograms can be added together.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 6;                     // 64 buckets per power of 2
+    private static final int SUB_COUNT = 1 << SUB_BITS;        // 64
+    private static final int EXACT = 2 * SUB_COUNT;            // Values below this are exact
+    private static final int BUCKETS = EXACT + (63 - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts;    // Bucket -> how many values
+    private long total;             // How many values
+    private long max;               // Biggest value (exact)
+
+    /**
+     * CONSTRUCTOR - Creates an empty histogram
+     */
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    /**
+     * Adds a value
+     * @param nanos Latency in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        total++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds all the values of another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the value below which a fraction of the values fall
+     * (the top of its bucket, so it is never lower than the real value)
+     * @param fraction e.g., 0.99 for p99
+     */
+    public long valueAt(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the bucket of a value
+     */
+    private static int bucketOf(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        // Shift so the value keeps its 7 highest bits (64..127)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return EXACT + (shift - 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Returns the biggest value that goes into a bucket
+     */
+    private static long highestIn(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int shift = (bucket - EXACT) / SUB_COUNT + 1;
+        long sub = (bucket - EXACT) % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,238 @@
+package org.lostontheisland;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LOAD GENERATOR CLASS - Plays many games at once to measure the engine
+ *
+ * How it works:
+ * - Starts N virtual players, a few at a time (ramp up)
+ * - Each player plays games in the same program, one after the other,
+ *   following a strategy (the winning script or random commands)
+ * - Every command is timed
+ *
+ * At the end it shows throughput, latency percentiles (p50, p99, p999)
+ * and how long the garbage collector paused the program during the run.
+ * Latencies go into a fixed-size histogram per player, so measuring
+ * uses the same memory however long the run is.
+ *
+ * Usage: LoadGenerator [players] [rampSeconds] [durationSeconds] [scripted|random]
+ */
+public class LoadGenerator {
+
+    /**
+     * How virtual players choose their commands
+     */
+    public enum Strategy {
+        SCRIPTED, RANDOM
+    }
+
+    // Winning script: fetch bottle, fill it, drink, eat, get knife, kill bear, grab gold
+    private static final String[] SCRIPT = {
+        "go north", "take bottle", "use bottle", "drink", "use bottle",
+        "take fruit", "eat fruit", "go north", "take knife", "go west",
+        "use knife", "take gold", "go east", "go south"
+    };
+
+    // Commands a random player can type
+    private static final String[] RANDOM_COMMANDS = {
+        "go north", "go south", "go east", "go west", "take fruit", "take bottle",
+        "take knife", "take gold", "catch fish", "eat fruit", "eat fish", "drink",
+        "use bottle", "use knife", "inventory", "status", "inspect"
+    };
+
+    private static final int MAX_RANDOM_COMMANDS = 40;   // Random games end (quit) after this
+
+    private final int players;          // How many virtual players
+    private final long rampNanos;       // Time to start all players
+    private final long durationNanos;   // Total run time
+    private final Strategy strategy;    // How players choose commands
+
+    /**
+     * CONSTRUCTOR - Prepares a load run
+     * @param players How many virtual players
+     * @param rampSeconds Time to start all players
+     * @param durationSeconds Total run time
+     * @param strategy How players choose commands
+     */
+    public LoadGenerator(int players, int rampSeconds, int durationSeconds, Strategy strategy) {
+        if (players < 1) {
+            throw new IllegalArgumentException("Need at least one player: " + players);
+        }
+        this.players = players;
+        this.rampNanos = TimeUnit.SECONDS.toNanos(rampSeconds);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.strategy = strategy;
+    }
+
+    /**
+     * One virtual player: plays games until the run ends
+     */
+    private final class VirtualPlayer implements Runnable {
+        private final int id;
+        private final long deadline;
+        private final Random random;
+        private final LatencyHistogram latencies = new LatencyHistogram();  // Nanoseconds per command
+        private long commands;
+        private int games;
+        private int wins;
+
+        VirtualPlayer(int id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+            this.random = new Random(id);
+        }
+
+        @Override
+        public void run() {
+            OutputStream discard = OutputStream.nullOutputStream();
+            while (System.nanoTime() < deadline) {
+                Game game = new Game("bot" + id);
+                int step = 0;
+                while (!game.isFinished() && System.nanoTime() < deadline) {
+                    String command = nextCommand(step++);
+
+                    long start = System.nanoTime();
+                    game.runCommands(command, discard);
+                    record(System.nanoTime() - start);
+                }
+                games++;
+                if (game.getResult().getOutcome() == ScoreRecord.Outcome.WON) {
+                    wins++;
+                }
+            }
+        }
+
+        /**
+         * Chooses the next command for this game
+         */
+        private String nextCommand(int step) {
+            if (strategy == Strategy.SCRIPTED) {
+                return step < SCRIPT.length ? SCRIPT[step] : "quit";
+            }
+            if (step >= MAX_RANDOM_COMMANDS) {
+                return "quit";
+            }
+            return RANDOM_COMMANDS[random.nextInt(RANDOM_COMMANDS.length)];
+        }
+
+        private void record(long nanos) {
+            latencies.record(nanos);
+            commands++;
+        }
+    }
+
+    /**
+     * Runs the load and prints the report
+     */
+    public void run() throws InterruptedException {
+        List<GarbageCollectorMXBean> collectors = pauseCollectors();
+        long gcCountBefore = totalCollections(collectors);
+        long gcMillisBefore = totalCollectionMillis(collectors);
+
+        long begin = System.nanoTime();
+        long deadline = begin + durationNanos;
+        VirtualPlayer[] virtualPlayers = new VirtualPlayer[players];
+        ExecutorService pool = Executors.newFixedThreadPool(players);
+
+        // Ramp up: players join spread over the ramp time
+        long gap = players > 1 ? rampNanos / (players - 1) : 0;
+        for (int i = 0; i < players; i++) {
+            virtualPlayers[i] = new VirtualPlayer(i, deadline);
+            pool.execute(virtualPlayers[i]);
+            if (gap > 0 && i < players - 1) {
+                TimeUnit.NANOSECONDS.sleep(gap);
+            }
+        }
+
+        pool.shutdown();
+        pool.awaitTermination(durationNanos + TimeUnit.SECONDS.toNanos(30), TimeUnit.NANOSECONDS);
+        long elapsed = System.nanoTime() - begin;
+
+        long gcCount = totalCollections(collectors) - gcCountBefore;
+        long gcMillis = totalCollectionMillis(collectors) - gcMillisBefore;
+        report(virtualPlayers, elapsed, gcCount, gcMillis);
+    }
+
+    /**
+     * Returns the collectors whose time is time the program was paused
+     * ZGC and Shenandoah also have a "... Cycles" collector that works
+     * alongside the program: its time is not a pause, so it is skipped.
+     * ("G1 Concurrent GC" is kept: it counts the Remark and Cleanup pauses)
+     */
+    private static List<GarbageCollectorMXBean> pauseCollectors() {
+        List<GarbageCollectorMXBean> pauses = new ArrayList<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!collector.getName().endsWith(" Cycles")) {
+                pauses.add(collector);
+            }
+        }
+        return pauses;
+    }
+
+    /**
+     * Prints throughput, latency percentiles and GC time
+     */
+    private void report(VirtualPlayer[] virtualPlayers, long elapsed, long gcCount, long gcMillis) {
+        long total = 0;
+        int games = 0;
+        int wins = 0;
+        // All latencies together, to read the percentiles
+        LatencyHistogram all = new LatencyHistogram();
+        for (VirtualPlayer player : virtualPlayers) {
+            total += player.commands;
+            games += player.games;
+            wins += player.wins;
+            all.add(player.latencies);
+        }
+
+        double seconds = elapsed / 1e9;
+        System.out.println("\n=== Load Report ===");
+        System.out.println("Players:     " + players + " (" + strategy.name().toLowerCase() + ")");
+        System.out.printf("Duration:    %.1f s%n", seconds);
+        System.out.println("Games:       " + games + " (" + wins + " won)");
+        System.out.println("Commands:    " + total);
+        System.out.printf("Throughput:  %.0f commands/s%n", total / seconds);
+        System.out.printf("Latency p50:  %8.1f us%n", all.valueAt(0.50) / 1e3);
+        System.out.printf("Latency p99:  %8.1f us%n", all.valueAt(0.99) / 1e3);
+        System.out.printf("Latency p999: %8.1f us%n", all.valueAt(0.999) / 1e3);
+        System.out.printf("Latency max:  %8.1f us%n", all.getMax() / 1e3);
+        System.out.println("GC pauses:   " + gcCount + " pauses, " + gcMillis + " ms");
+    }
+
+    private static long totalCollections(List<GarbageCollectorMXBean> collectors) {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalCollectionMillis(List<GarbageCollectorMXBean> collectors) {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Main method - starts a load run
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int ramp = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int duration = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Strategy strategy = args.length > 3
+                ? Strategy.valueOf(args[3].toUpperCase()) : Strategy.SCRIPTED;
+
+        new LoadGenerator(players, ramp, duration, strategy).run();
+    }
+}
@@ -0,0 +1,168 @@
+package org.lostontheisland;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MESSAGE CLASS - A game text that is already encoded to bytes
+ *
+ * Each message has:
+ * - Fixed parts, encoded to bytes only once and then reused
+ * - Optional slots ("{}") that are filled at print time (e.g., item names)
+ *
+ * Lines end like println ends them (System.lineSeparator()), and the
+ * bytes use the charset of the output they are written to, so messages
+ * look the same as text printed with println on any console.
+ *
+ * Fixed messages can be written to any output without encoding again.
+ * Messages never change after they are created, so they can be shared.
+ */
+public class Message {
+    private static final String SLOT = "{}";    // Placeholder for dynamic parts
+
+    private final String[] pieces;      // Text between the slots
+    private volatile Encoded encoded;   // Bytes for the last charset used
+
+    /**
+     * The pieces encoded with one charset
+     * (almost every program uses a single charset, so one is kept)
+     */
+    private static final class Encoded {
+        private final Charset charset;
+        private final byte[][] parts;
+
+        Encoded(Charset charset, String[] pieces) {
+            this.charset = charset;
+            this.parts = new byte[pieces.length][];
+            for (int i = 0; i < pieces.length; i++) {
+                parts[i] = pieces[i].getBytes(charset);
+            }
+        }
+    }
+
+    /**
+     * CONSTRUCTOR - Creates a message from its text
+     * A new line is added at the end, like println does
+     * @param text Message text, can contain "{}" slots
+     */
+    public Message(String text) {
+        String withLines = (text + "\n").replace("\n", System.lineSeparator());
+        this.pieces = withLines.split("\\{}", -1);
+        this.encoded = new Encoded(StandardCharsets.UTF_8, pieces);
+    }
+
+    /**
+     * Returns how many slots this message has
+     */
+    public int getSlotCount() {
+        return pieces.length - 1;
+    }
+
+    /**
+     * Returns the encoded parts for a charset (encoded once, then reused)
+     */
+    private byte[][] partsFor(Charset charset) {
+        Encoded current = encoded;
+        if (!current.charset.equals(charset)) {
+            current = new Encoded(charset, pieces);
+            encoded = current;
+        }
+        return current.parts;
+    }
+
+    /**
+     * Writes a fixed message (no slots) to the output
+     * @param out Where to write
+     */
+    public void writeTo(PrintStream out) {
+        byte[][] parts = partsFor(out.charset());
+        for (int i = 0; i < parts.length; i++) {
+            // Slots without a value are left empty
+            out.write(parts[i], 0, parts[i].length);
+        }
+    }
+
+    /**
+     * Writes the message filling each slot with a value
+     * Only the values are encoded, the fixed parts are reused
+     * @param out Where to write
+     * @param values One value per slot
+     */
+    public void writeTo(PrintStream out, Object... values) {
+        byte[][] parts = partsFor(out.charset());
+        out.write(parts[0], 0, parts[0].length);
+        for (int i = 1; i < parts.length; i++) {
+            if (i - 1 < values.length) {
+                out.print(values[i - 1]);
+            }
+            out.write(parts[i], 0, parts[i].length);
+        }
+    }
+
+    /**
+     * Writes a message with one text slot (e.g., an item name)
+     * Same as writeTo(out, values), without creating an array for the values
+     */
+    public void writeTo(PrintStream out, String value) {
+        byte[][] parts = partsFor(out.charset());
+        out.write(parts[0], 0, parts[0].length);
+        for (int i = 1; i < parts.length; i++) {
+            if (i == 1) {
+                out.print(value);
+            }
+            out.write(parts[i], 0, parts[i].length);
+        }
+    }
+
+    /**
+     * Writes a message with one number slot (e.g., a percentage)
+     */
+    public void writeTo(PrintStream out, int value) {
+        byte[][] parts = partsFor(out.charset());
+        out.write(parts[0], 0, parts[0].length);
+        for (int i = 1; i < parts.length; i++) {
+            if (i == 1) {
+                out.print(value);
+            }
+            out.write(parts[i], 0, parts[i].length);
+        }
+    }
+
+    /**
+     * Writes a message with a text slot and then a number slot
+     */
+    public void writeTo(PrintStream out, String text, int number) {
+        byte[][] parts = partsFor(out.charset());
+        out.write(parts[0], 0, parts[0].length);
+        for (int i = 1; i < parts.length; i++) {
+            if (i == 1) {
+                out.print(text);
+            } else if (i == 2) {
+                out.print(number);
+            }
+            out.write(parts[i], 0, parts[i].length);
+        }
+    }
+
+    /**
+     * Returns a read-only view of a fixed message
+     * Useful for network outputs: no copy is made
+     * @param charset Charset of the output
+     * @return The encoded bytes of the message
+     */
+    public ByteBuffer asByteBuffer(Charset charset) {
+        if (pieces.length != 1) {
+            throw new IllegalStateException("Message has slots: " + toString());
+        }
+        return ByteBuffer.wrap(partsFor(charset)[0]).asReadOnlyBuffer();
+    }
+
+    /**
+     * toString method - returns the text with its slots
+     */
+    @Override
+    public String toString() {
+        return String.join(SLOT, pieces);
+    }
+}
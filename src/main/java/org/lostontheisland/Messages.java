@@ -0,0 +1,111 @@
+package org.lostontheisland;
+/**
+ * MESSAGES CLASS - Catalog of all the game texts
+ *
+ * All texts are created once, when the game loads, and then reused:
+ * - Banners (welcome, victory, game over)
+ * - Help text
+ * - Fixed replies (e.g., "You can't go that way!")
+ * - Templates with slots for item names and percentages
+ */
+public final class Messages {
+
+    private Messages() {
+        // Only constants here
+    }
+
+    // Banners
+    public static final Message WELCOME = new Message(
+            "\n╔════════════════════════════════════════╗\n"
+            + "║   WELCOME TO LOST ON THE ISLAND!       ║\n"
+            + "╚════════════════════════════════════════╝\n"
+            + "\nYou woke up in the sea after a storm.\n"
+            + "Survive on the island and find the treasure!\n"
+            + "Be careful, dont forget to eat and drink.\n"
+            + "Good Luck!!!\n"
+            + "\nType 'help' to see the commands.");
+
+    public static final Message VICTORY = new Message(
+            "\n╔════════════════════════════════════════╗\n"
+            + "║         YOU WON THE GAME!              ║\n"
+            + "╚════════════════════════════════════════╝\n"
+            + "You found the gold and escaped the island!");
+
+    public static final Message GAME_OVER = new Message(
+            "\n╔════════════════════════════════════════╗\n"
+            + "║          GAME OVER                     ║\n"
+            + "╚════════════════════════════════════════╝");
+
+    public static final Message DIED_OF_THIRST = new Message("You died of thirst...");
+    public static final Message DIED_OF_HUNGER = new Message("You died of hunger...");
+    public static final Message GOODBYE = new Message("\nThank you for playing Lost on the Island!");
+
+    // High scores
+    public static final Message HIGH_SCORES = new Message("\n=== HIGH SCORES ===");
+    public static final Message HIGH_SCORE_LINE = new Message("{}. {}");
+
+    // Help
+    public static final Message HELP = new Message(
+            "\n=== AVAILABLE COMMANDS ===\n"
+            + "go [direction]   - Move (north, south, east, west)\n"
+            + "take [item]      - Take an item\n"
+            + "catch [animal]   - Catch an animal (fish)\n"
+            + "drop [item]      - Drop an item\n"
+            + "inventory        - View your inventory\n"
+            + "status           - View your water and food levels\n"
+            + "inspect          - Examine the current room\n"
+            + "eat [item]       - Eat (fruit, fish)\n"
+            + "drink            - Drink water from bottle\n"
+            + "use [item]       - Use a special item\n"
+            + "help             - Show this help\n"
+            + "quit             - Exit the game\n"
+            + "\nSeparate commands with ';' to run several at once.");
+
+    // Missing arguments
+    public static final Message GO_WHERE = new Message("Go where? (north, south, east, west)");
+    public static final Message TAKE_WHAT = new Message("Take what?");
+    public static final Message CATCH_WHAT = new Message("Catch what?");
+    public static final Message DROP_WHAT = new Message("Drop what?");
+    public static final Message EAT_WHAT = new Message("Eat what?");
+    public static final Message USE_WHAT = new Message("Use what?");
+    public static final Message THANKS = new Message("Thanks for playing!");
+    public static final Message UNKNOWN_COMMAND = new Message("Command not recognized. Type 'help' for help.");
+
+    // Moving
+    public static final Message CANT_GO = new Message("You can't go that way!");
+    public static final Message PATH_CROWDED = new Message("The path is crowded. Try again!");
+    public static final Message SHARK_ATTACK = new Message("A shark attacks you! You died!");
+    public static final Message BEAR_ATTACK = new Message(
+            "A fierce bear attacks you! You need a knife!\n"
+            + "You flee back to the jungle!");
+
+    // Items
+    public static final Message ITEM_NOT_HERE = new Message("That item is not here.");
+    public static final Message BEAR_GUARDS_GOLD = new Message("The bear is guarding the gold! You need to defeat it first!");
+    public static final Message GOT_GOLD = new Message("YOU GOT THE GOLD! Now return to the beach to win!");
+    public static final Message TOOK = new Message("You took: {}");
+    public static final Message DONT_HAVE_ITEM = new Message("You don't have that item.");
+    public static final Message DROPPED = new Message("You dropped: {}");
+
+    // Eating and drinking
+    public static final Message ATE = new Message("You ate the {}. Food +{}%");
+    public static final Message CANT_EAT = new Message("You can't eat that!");
+    public static final Message NEED_BOTTLE = new Message("You need a bottle first!");
+    public static final Message BOTTLE_EMPTY = new Message("The bottle is empty! Use 'use bottle' at the sea to fill it.");
+    public static final Message DRANK = new Message("You drank water. Water +{}%");
+
+    // Using items
+    public static final Message BEAR_DEFEATED = new Message(
+            "You defeated the bear with the knife!\n"
+            + "Now you can take the gold!");
+    public static final Message NOTHING_TO_KNIFE = new Message("There's nothing to use the knife on here.");
+    public static final Message BOTTLE_FILLED = new Message("You filled the bottle with sea water!");
+    public static final Message DONT_HAVE_BOTTLE = new Message("You don't have the bottle!");
+    public static final Message NOT_NEAR_SEA = new Message("You need to be near the sea to fill the bottle.");
+    public static final Message CANT_USE = new Message("You can't use that item now.");
+
+    // Catching
+    public static final Message CAUGHT_FISH = new Message("You caught the fish! You can eat it now.");
+    public static final Message NO_FISH = new Message("There's no fish here to catch.");
+    public static final Message CANT_CATCH = new Message("You can't catch that!");
+}
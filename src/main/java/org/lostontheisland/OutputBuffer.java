@@ -0,0 +1,166 @@
+package org.lostontheisland;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * OUTPUT BUFFER CLASS - Collects the text of a turn without creating objects
+ *
+ * A normal PrintStream creates a String for every number it prints,
+ * and small buffers every time it encodes text. This one:
+ * - Copies text into one reused char buffer
+ * - Encodes it with one reused encoder into one reused byte buffer
+ * - Writes numbers digit by digit
+ *
+ * So printing a turn creates no objects once the buffers exist.
+ * Only the print methods the game uses are changed; the others
+ * work as in any PrintStream.
+ *
+ * Used by one thread at a time (the thread running the game).
+ */
+public class OutputBuffer extends PrintStream {
+    private static final String LINE = System.lineSeparator();     // Like println
+    private static final int CHUNK = 256;                          // Chars encoded at a time
+
+    private final ByteArrayOutputStream bytes;      // Where the encoded text goes
+    private final CharsetEncoder encoder;           // Reused for every text
+    private final CharBuffer chars;                 // Text waiting to be encoded
+    private final byte[] encodedBytes;              // Encoded text waiting to be copied
+    private final ByteBuffer encoded;               // View of encodedBytes for the encoder
+
+    /**
+     * CONSTRUCTOR - Creates an output that writes into a byte buffer
+     * @param bytes Where the encoded text goes
+     * @param charset Charset for the text
+     */
+    public OutputBuffer(ByteArrayOutputStream bytes, Charset charset) {
+        super(bytes, false, charset);
+        this.bytes = bytes;
+        // Characters the charset can't show become '?', like in PrintStream
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(CHUNK);
+        this.encodedBytes = new byte[(int) Math.ceil(CHUNK * encoder.maxBytesPerChar())];
+        this.encoded = ByteBuffer.wrap(encodedBytes);
+    }
+
+    @Override
+    public void print(String text) {
+        text(text == null ? "null" : text);
+    }
+
+    @Override
+    public void print(Object value) {
+        text(String.valueOf(value));
+    }
+
+    @Override
+    public void print(char c) {
+        put(c);
+        encodeChars();
+    }
+
+    @Override
+    public void print(int number) {
+        if (number == Integer.MIN_VALUE) {
+            // Can't be made positive
+            text("-2147483648");
+            return;
+        }
+        if (number < 0) {
+            put('-');
+            number = -number;
+        }
+        int divisor = 1;
+        while (number / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            put((char) ('0' + number / divisor % 10));
+            divisor /= 10;
+        }
+        encodeChars();
+    }
+
+    @Override
+    public void println() {
+        text(LINE);
+    }
+
+    @Override
+    public void println(String text) {
+        print(text);
+        println();
+    }
+
+    @Override
+    public void println(Object value) {
+        print(value);
+        println();
+    }
+
+    @Override
+    public OutputBuffer append(CharSequence text) {
+        text(text == null ? "null" : text);
+        return this;
+    }
+
+    @Override
+    public OutputBuffer append(CharSequence text, int start, int end) {
+        CharSequence value = text == null ? "null" : text;
+        for (int i = start; i < end; i++) {
+            put(value.charAt(i));
+        }
+        encodeChars();
+        return this;
+    }
+
+    @Override
+    public OutputBuffer append(char c) {
+        print(c);
+        return this;
+    }
+
+    /**
+     * Encodes a whole text
+     */
+    private void text(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+        encodeChars();
+    }
+
+    /**
+     * Adds one char, encoding the waiting ones first if the buffer is full
+     */
+    private void put(char c) {
+        if (!chars.hasRemaining()) {
+            encodeChars();
+        }
+        chars.put(c);
+    }
+
+    /**
+     * Encodes the waiting chars and copies the bytes to the output
+     * Half of a surrogate pair waits for its other half
+     */
+    private void encodeChars() {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, encoded, false);
+            bytes.write(encodedBytes, 0, encoded.position());
+            encoded.clear();
+            if (!result.isOverflow()) {
+                break;
+            }
+        }
+        chars.compact();
+    }
+}
@@ -1,27 +1,42 @@
 package org.lostontheisland;
+import java.io.PrintStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 
 /**
  * PLAYER CLASS - Represents the player
  *
  * The player has:
+ * - Name
  * - Inventory (list of items)
  * - Water and food levels (survival)
  * - State (alive or dead)
  * - Water bottle (can be empty or full)
  */
-public class Player {
+public class Player implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String name;                // Player's name
     private ArrayList<Item> inventory;  // Player's inventory
     private int waterLevel;             // Water level (0-100)
     private int foodLevel;              // Food level (0-100)
     private boolean isAlive;            // Whether alive
     private boolean bottleFilled;       // Whether bottle is full
 
+    /**
+     * CONSTRUCTOR - Creates a new player with the default name
+     */
+    public Player() {
+        this("Survivor");
+    }
+
     /**
      * CONSTRUCTOR - Creates a new player
      * Starts with medium water and food levels
+     * @param name Player's name
      */
-    public Player() {
+    public Player(String name) {
+        this.name = name;
         this.inventory = new ArrayList<>();
         this.waterLevel = 50;    // Starts with 50% water
         this.foodLevel = 50;     // Starts with 50% food
@@ -43,10 +58,10 @@ public class Player {
      * @return The removed item or null
      */
     public Item removeItem(String itemName) {
-        for (Item item : inventory) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                inventory.remove(item);
-                return item;
+        // Index loops avoid creating an iterator every turn
+        for (int i = 0; i < inventory.size(); i++) {
+            if (inventory.get(i).getName().equalsIgnoreCase(itemName)) {
+                return inventory.remove(i);
             }
         }
         return null;
@@ -58,12 +73,7 @@ public class Player {
      * @return true if has it, false if not
      */
     public boolean hasItem(String itemName) {
-        for (Item item : inventory) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                return true;
-            }
-        }
-        return false;
+        return getItem(itemName) != null;
     }
 
     /**
@@ -72,7 +82,8 @@ public class Player {
      * @return The item or null if not found
      */
     public Item getItem(String itemName) {
-        for (Item item : inventory) {
+        for (int i = 0; i < inventory.size(); i++) {
+            Item item = inventory.get(i);
             if (item.getName().equalsIgnoreCase(itemName)) {
                 return item;
             }
@@ -137,6 +148,10 @@ public class Player {
     }
 
     // Getters
+    public String getName() {
+        return name;
+    }
+
     public ArrayList<Item> getInventory() {
         return inventory;
     }
@@ -159,39 +174,45 @@ public class Player {
 
     /**
      * Displays the player's inventory
-     * @return String with all items
+     * Writes straight to the output, so no text is created
+     * @param out Where to write
      */
-    public String showInventory() {
+    public void printInventory(PrintStream out) {
         if (inventory.isEmpty()) {
-            return "Your inventory is empty.";
+            out.println("Your inventory is empty.");
+            return;
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n=== Inventory ===\n");
-        for (Item item : inventory) {
-            sb.append("- ").append(item.getName()).append("\n");
+        out.print("\n=== Inventory ===\n");
+        for (int i = 0; i < inventory.size(); i++) {
+            out.print("- ");
+            out.print(inventory.get(i).getName());
+            out.print("\n");
         }
-        return sb.toString();
+        out.println();
     }
 
     /**
      * Displays the player's survival status
-     * @return String with water and food levels
+     * Writes straight to the output, so no text is created
+     * @param out Where to write
      */
-    public String showStatus() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n=== Status ===\n");
-        sb.append("Water: ").append(waterLevel).append("%\n");
-        sb.append("Food: ").append(foodLevel).append("%\n");
+    public void printStatus(PrintStream out) {
+        out.print("\n=== Status ===\n");
+        out.print("Water: ");
+        out.print(waterLevel);
+        out.print("%\n");
+        out.print("Food: ");
+        out.print(foodLevel);
+        out.print("%\n");
 
         // Warnings if levels are low
         if (waterLevel < 30) {
-            sb.append("You are thirsty!\n");
+            out.print("You are thirsty!\n");
         }
         if (foodLevel < 30) {
-            sb.append("You are hungry!\n");
+            out.print("You are hungry!\n");
         }
-
-        return sb.toString();
+        out.println();
     }
 }
\ No newline at end of file
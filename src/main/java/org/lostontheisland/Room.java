@@ -1,6 +1,15 @@
 package org.lostontheisland;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectStreamException;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * ROOM CLASS - Represents each location on the island
@@ -10,13 +19,23 @@ import java.util.ArrayList;
  * - Exits to other rooms (north, south, east, west)
  * - List of available items
  * - List of present animals
+ *
+ * Rooms of a WorldTemplate are frozen: they are shared by all
+ * games, so they can't be changed anymore.
  */
-public class Room {
+public class Room implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;                           // Room name
     private String description;                    // Room description
     private HashMap<String, Room> exits;           // Exits (direction -> room)
     private ArrayList<Item> items;                 // Items in the room
     private ArrayList<Animal> animals;             // Animals in the room
+    private boolean frozen;                        // Part of a shared template (read-only)
+    private transient ItemIndex index;             // World index to keep updated (can be null)
+    private transient String exitsLine;            // Exits text, built once (exits rarely change)
+    private transient List<Item> readOnlyItems;    // Read-only view of items (frozen rooms)
+    private transient List<Animal> readOnlyAnimals; // Read-only view of animals (frozen rooms)
 
     /**
      * CONSTRUCTOR - Creates a new room
@@ -37,7 +56,9 @@ public class Room {
      * @param neighbor Neighboring room
      */
     public void setExit(String direction, Room neighbor) {
+        checkNotFrozen();
         exits.put(direction, neighbor);
+        exitsLine = null;   // Built again next time
     }
 
     /**
@@ -53,7 +74,11 @@ public class Room {
      * Adds an item to the room
      */
     public void addItem(Item item) {
+        checkNotFrozen();
         items.add(item);
+        if (index != null) {
+            index.itemAdded(name, item.getName());
+        }
     }
 
     /**
@@ -62,9 +87,14 @@ public class Room {
      * @return The removed item or null if not found
      */
     public Item removeItem(String itemName) {
-        for (Item item : items) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                items.remove(item);
+        checkNotFrozen();
+        // Index loops avoid creating an iterator every turn
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getName().equalsIgnoreCase(itemName)) {
+                Item item = items.remove(i);
+                if (index != null) {
+                    index.itemRemoved(name, item.getName());
+                }
                 return item;
             }
         }
@@ -75,7 +105,12 @@ public class Room {
      * Adds an animal to the room
      */
     public void addAnimal(Animal animal) {
+        checkNotFrozen();
         animals.add(animal);
+        animal.setLocation(this);
+        if (index != null && animal.isAlive()) {
+            index.animalAdded(name, animal.getName());
+        }
     }
 
     /**
@@ -84,7 +119,8 @@ public class Room {
      * @return The animal or null if not found
      */
     public Animal getAnimal(String animalName) {
-        for (Animal animal : animals) {
+        for (int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
             if (animal.getName().equalsIgnoreCase(animalName)) {
                 return animal;
             }
@@ -101,12 +137,149 @@ public class Room {
         return description;
     }
 
-    public ArrayList<Item> getItems() {
-        return items;
+    /**
+     * Returns the items in the room
+     * A frozen room is shared by all games, so its list is read-only
+     */
+    public List<Item> getItems() {
+        if (!frozen) {
+            return items;
+        }
+        if (readOnlyItems == null) {
+            readOnlyItems = Collections.unmodifiableList(items);
+        }
+        return readOnlyItems;
+    }
+
+    /**
+     * Returns the animals in the room
+     * A frozen room is shared by all games, so its list is read-only
+     */
+    public List<Animal> getAnimals() {
+        if (!frozen) {
+            return animals;
+        }
+        if (readOnlyAnimals == null) {
+            readOnlyAnimals = Collections.unmodifiableList(animals);
+        }
+        return readOnlyAnimals;
+    }
+
+    /**
+     * Returns the position of an animal in this room (the same object,
+     * not just the same name), or -1 if it is not here
+     */
+    int indexOfAnimal(Animal animal) {
+        for (int i = 0; i < animals.size(); i++) {
+            if (animals.get(i) == animal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the directions with an exit (e.g., "north")
+     */
+    public Set<String> getExitDirections() {
+        return exits.keySet();
+    }
+
+    /**
+     * Returns all the rooms this room has exits to
+     */
+    public Collection<Room> getNeighbors() {
+        return exits.values();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Connects the room to a world index
+     * What is already in the room is added to the index now,
+     * and every later change updates it
+     * (the connection is not saved with the room)
+     * Attaching the same index again does nothing, so nothing is counted twice
+     * @param index The world index
+     * @throws IllegalStateException if the room is already in another index
+     */
+    public void attachIndex(ItemIndex index) {
+        if (this.index == index) {
+            return;
+        }
+        if (this.index != null) {
+            throw new IllegalStateException("Room " + name + " is already in an index");
+        }
+        this.index = index;
+        for (int i = 0; i < items.size(); i++) {
+            index.itemAdded(name, items.get(i).getName());
+        }
+        for (int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            if (animal.isAlive()) {
+                index.animalAdded(name, animal.getName());
+            }
+        }
+    }
+
+    /**
+     * Removes a killed animal from the index (called by Animal.kill)
+     */
+    void animalKilled(Animal animal) {
+        if (index != null) {
+            index.animalRemoved(name, animal.getName());
+        }
     }
 
-    public ArrayList<Animal> getAnimals() {
-        return animals;
+    /**
+     * Makes the room (and its animals) read-only
+     * Used by WorldTemplate once the map is complete
+     */
+    void freeze() {
+        frozen = true;
+        for (int i = 0; i < animals.size(); i++) {
+            animals.get(i).freeze();
+        }
+        // Built now, so games only read them
+        getExitsLine();
+        getItems();
+        getAnimals();
+    }
+
+    /**
+     * Stops changes to a shared room
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Room " + name + " is shared: use WorldDelta to change it");
+        }
+    }
+
+    /**
+     * A frozen room is saved as its name only
+     * When loaded, it becomes the island's room again (not a copy)
+     */
+    private Object writeReplace() throws ObjectStreamException {
+        return frozen ? new TemplateRoom(name) : this;
+    }
+
+    /**
+     * Saved form of a frozen room
+     */
+    private static final class TemplateRoom implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        TemplateRoom(String name) {
+            this.name = name;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            return WorldTemplate.island().getRoom(name);
+        }
     }
 
     /**
@@ -114,39 +287,70 @@ public class Room {
      * Includes description, exits, items and animals
      */
     public String getFullDescription() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n=== ").append(name).append(" ===\n");
-        sb.append(description).append("\n");
+        // Not used during turns (games write with describe), so it can create its objects
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        PrintStream text = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+        describe(text, items, null);
+        text.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the full description
+     * Writes straight to the output, so no text is created
+     * @param out Where to write
+     * @param items Items in the room
+     * @param delta Changes of one game (null = use the animals as they are)
+     */
+    void describe(PrintStream out, List<Item> items, WorldDelta delta) {
+        out.print("\n=== ");
+        out.print(name);
+        out.print(" ===\n");
+        out.print(description);
+        out.print("\n");
 
         // Lists available exits
         if (!exits.isEmpty()) {
-            sb.append("\nExits: ");
-            for (String direction : exits.keySet()) {
-                sb.append(direction).append(" ");
-            }
-            sb.append("\n");
+            out.print(getExitsLine());
         }
 
         // Lists items present
         if (!items.isEmpty()) {
-            sb.append("\nItems here: ");
-            for (Item item : items) {
-                sb.append(item.getName()).append(" ");
+            out.print("\nItems here: ");
+            for (int i = 0; i < items.size(); i++) {
+                out.print(items.get(i).getName());
+                out.print(" ");
             }
-            sb.append("\n");
+            out.print("\n");
         }
 
         // Lists animals present
         if (!animals.isEmpty()) {
-            sb.append("\nAnimals here: ");
-            for (Animal animal : animals) {
-                if (animal.isAlive()) {
-                    sb.append(animal.getName()).append(" ");
+            out.print("\nAnimals here: ");
+            for (int i = 0; i < animals.size(); i++) {
+                Animal animal = animals.get(i);
+                if (delta == null ? animal.isAlive() : delta.isAlive(this, animal)) {
+                    out.print(animal.getName());
+                    out.print(" ");
                 }
             }
-            sb.append("\n");
+            out.print("\n");
         }
+    }
 
-        return sb.toString();
+    /**
+     * Returns the "Exits: ..." text
+     * Built only when the exits change, not on every visit
+     */
+    private String getExitsLine() {
+        if (exitsLine == null) {
+            StringBuilder sb = new StringBuilder("\nExits: ");
+            for (String direction : exits.keySet()) {
+                sb.append(direction).append(" ");
+            }
+            sb.append("\n");
+            exitsLine = sb.toString();
+        }
+        return exitsLine;
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.lostontheisland;
+/**
+ * SCORE RECORD CLASS - Result of one finished game
+ *
+ * Each record has:
+ * - Player name
+ * - Turns taken (commands typed)
+ * - Final water and food levels
+ * - Outcome (won, died or quit)
+ */
+public class ScoreRecord implements Comparable<ScoreRecord> {
+
+    /**
+     * How the game ended
+     */
+    public enum Outcome {
+        WON, DIED, QUIT
+    }
+
+    private static final char SEPARATOR = ';';   // Separator used in the scores file
+
+    private final String playerName;   // Who played
+    private final int turns;           // Commands typed
+    private final int waterLevel;      // Final water level
+    private final int foodLevel;       // Final food level
+    private final Outcome outcome;     // How the game ended
+
+    /**
+     * CONSTRUCTOR - Creates a new score record
+     * @param playerName Player name
+     * @param turns Turns taken
+     * @param waterLevel Final water level
+     * @param foodLevel Final food level
+     * @param outcome How the game ended
+     */
+    public ScoreRecord(String playerName, int turns, int waterLevel, int foodLevel, Outcome outcome) {
+        // The separator and line breaks can't be part of the name,
+        // or the file can't be read back (one record per line)
+        this.playerName = playerName.replaceAll("[;\\r\\n]", "_");
+        this.turns = turns;
+        this.waterLevel = waterLevel;
+        this.foodLevel = foodLevel;
+        this.outcome = outcome;
+    }
+
+    // Getters
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getWaterLevel() {
+        return waterLevel;
+    }
+
+    public int getFoodLevel() {
+        return foodLevel;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Compares two records - the better one comes first
+     * Won games first, then fewer turns, then more water and food left
+     */
+    @Override
+    public int compareTo(ScoreRecord other) {
+        if (outcome != other.outcome) {
+            return outcome.compareTo(other.outcome);
+        }
+        if (turns != other.turns) {
+            return Integer.compare(turns, other.turns);
+        }
+        return Integer.compare(other.waterLevel + other.foodLevel, waterLevel + foodLevel);
+    }
+
+    /**
+     * Converts the record to one line of the scores file
+     */
+    public String toLine() {
+        return playerName + SEPARATOR + turns + SEPARATOR + waterLevel
+                + SEPARATOR + foodLevel + SEPARATOR + outcome;
+    }
+
+    /**
+     * Reads a record from one line of the scores file
+     * @param line Line written by toLine()
+     * @return The record or null if the line is broken
+     */
+    public static ScoreRecord fromLine(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR));
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            return new ScoreRecord(fields[0],
+                    Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]),
+                    Integer.parseInt(fields[3]),
+                    Outcome.valueOf(fields[4]));
+        } catch (IllegalArgumentException e) {
+            // Bad number or unknown outcome
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return playerName + " - " + outcome + " in " + turns + " turns (water "
+                + waterLevel + "%, food " + foodLevel + "%)";
+    }
+}
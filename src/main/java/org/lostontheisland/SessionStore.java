@@ -0,0 +1,392 @@
+package org.lostontheisland;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * SESSION STORE CLASS - Parks idle games outside the heap
+ *
+ * A hosted game that is waiting for input still keeps its Game,
+ * Player and all its rooms in memory. This store can:
+ * - Hibernate: save the game in a compact (compressed) form
+ *   off-heap or in a local file, so the heap copy can be dropped
+ * - Revive: rebuild the game when the next command arrives
+ *
+ * The event ring of a game (its spectators) and the shared World it
+ * plays in are not saved: they stay in this store while the game sleeps
+ * and are put back on revive, so spectators keep watching the same game
+ * and the player keeps walking the same shared island.
+ *
+ * Off-heap games share one big memory region (a "slab") that is
+ * reserved once and cut into fixed-size slots, so hibernating never
+ * asks the JVM for new off-heap memory.
+ *
+ * It also measures how long hibernating and reviving take.
+ */
+public class SessionStore {
+    private static final int SLOT_SIZE = 1024;                      // Bytes per slab slot
+    private static final int DEFAULT_CAPACITY = 16 * 1024 * 1024;   // Default slab size (16 MB)
+
+    private final Path directory;                                   // Where files go (null = off-heap)
+    private final ConcurrentHashMap<String, Stored> offHeap;        // Session id -> saved game
+    private final Slab slab;                                        // Off-heap region (null = files)
+    private final ConcurrentHashMap<String, EventRing> rings;       // Session id -> spectators' ring
+    private final ConcurrentHashMap<String, World> hosts;           // Session id -> shared world
+
+    // Metrics
+    private final AtomicLong hibernateCount = new AtomicLong();
+    private final AtomicLong hibernateNanos = new AtomicLong();
+    private final AtomicLong reviveCount = new AtomicLong();
+    private final AtomicLong reviveNanos = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    /**
+     * One saved game inside the slab
+     */
+    private static final class Stored {
+        private final int[] slots;                                  // Slab slots, in order
+        private final int length;                                   // Bytes used
+        private final AtomicBoolean claimed = new AtomicBoolean();  // Being revived or replaced
+
+        Stored(int[] slots, int length) {
+            this.slots = slots;
+            this.length = length;
+        }
+    }
+
+    /**
+     * SLAB CLASS - One off-heap region cut into fixed-size slots
+     * Free slots are kept in a stack, so taking and giving back is cheap
+     */
+    private static final class Slab {
+        private final ByteBuffer region;    // Reserved once, never grows
+        private final int[] free;           // Stack of free slot numbers
+        private int freeCount;              // How many are on the stack
+
+        Slab(int capacity) {
+            int slots = Math.max(1, capacity / SLOT_SIZE);
+            this.region = ByteBuffer.allocateDirect(slots * SLOT_SIZE);
+            this.free = new int[slots];
+            for (int i = 0; i < slots; i++) {
+                free[i] = slots - 1 - i;
+            }
+            this.freeCount = slots;
+        }
+
+        /**
+         * Copies bytes into free slots
+         * @throws IllegalStateException if the slab has no room left
+         */
+        Stored store(byte[] bytes) {
+            int needed = Math.max(1, (bytes.length + SLOT_SIZE - 1) / SLOT_SIZE);
+            int[] slots = new int[needed];
+            synchronized (this) {
+                if (needed > freeCount) {
+                    throw new IllegalStateException("Off-heap session store is full ("
+                            + region.capacity() + " bytes)");
+                }
+                for (int i = 0; i < needed; i++) {
+                    slots[i] = free[--freeCount];
+                }
+            }
+            // Each slot belongs to one game only, so copying needs no lock
+            for (int i = 0; i < needed; i++) {
+                int offset = i * SLOT_SIZE;
+                int length = Math.min(SLOT_SIZE, bytes.length - offset);
+                region.put(slots[i] * SLOT_SIZE, bytes, offset, length);
+            }
+            return new Stored(slots, bytes.length);
+        }
+
+        /**
+         * Copies a saved game out of its slots
+         */
+        byte[] load(Stored stored) {
+            byte[] bytes = new byte[stored.length];
+            for (int i = 0; i < stored.slots.length; i++) {
+                int offset = i * SLOT_SIZE;
+                int length = Math.min(SLOT_SIZE, bytes.length - offset);
+                region.get(stored.slots[i] * SLOT_SIZE, bytes, offset, length);
+            }
+            return bytes;
+        }
+
+        /**
+         * Gives the slots of a saved game back
+         */
+        synchronized void release(Stored stored) {
+            for (int i = 0; i < stored.slots.length; i++) {
+                free[freeCount++] = stored.slots[i];
+            }
+        }
+
+        int capacity() {
+            return region.capacity();
+        }
+    }
+
+    /**
+     * CONSTRUCTOR - Creates a store that keeps games off-heap (16 MB)
+     */
+    public SessionStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * CONSTRUCTOR - Creates a store that keeps games off-heap
+     * The whole region is reserved now, once
+     * @param offHeapBytes Size of the off-heap region
+     */
+    public SessionStore(int offHeapBytes) {
+        this.directory = null;
+        this.offHeap = new ConcurrentHashMap<>();
+        this.rings = new ConcurrentHashMap<>();
+        this.hosts = new ConcurrentHashMap<>();
+        this.slab = new Slab(offHeapBytes);
+    }
+
+    /**
+     * CONSTRUCTOR - Creates a store that keeps games in local files
+     * @param directory Folder for the session files
+     */
+    public SessionStore(Path directory) {
+        this.directory = directory;
+        this.offHeap = new ConcurrentHashMap<>();
+        this.rings = new ConcurrentHashMap<>();
+        this.hosts = new ConcurrentHashMap<>();
+        this.slab = null;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create session folder " + directory, e);
+        }
+    }
+
+    /**
+     * Saves an idle game
+     * After this, the caller can drop its reference to the game
+     * @param sessionId Session id (e.g., connection id)
+     * @param game The idle game
+     * @throws IllegalStateException if the off-heap region is full
+     */
+    public void hibernate(String sessionId, Game game) {
+        long start = System.nanoTime();
+        byte[] bytes = serialize(game);
+
+        // Spectators keep their ring, and the player its world, while the game sleeps
+        EventRing ring = game.peekEvents();
+        if (ring != null) {
+            rings.put(sessionId, ring);
+        } else {
+            rings.remove(sessionId);
+        }
+        World host = game.getHost();
+        if (host != null) {
+            hosts.put(sessionId, host);
+        } else {
+            hosts.remove(sessionId);
+        }
+
+        if (directory == null) {
+            Stored stored = slab.store(bytes);
+            storedBytes.addAndGet(bytes.length);
+            Stored old = offHeap.put(sessionId, stored);
+            if (old != null) {
+                // Whoever claims a saved game gives its slots back
+                free(old);
+            }
+        } else {
+            try {
+                Files.write(fileFor(sessionId), bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not hibernate session " + sessionId, e);
+            }
+        }
+
+        hibernateNanos.addAndGet(System.nanoTime() - start);
+        hibernateCount.incrementAndGet();
+    }
+
+    /**
+     * Brings a hibernated game back
+     * The saved copy is removed only after the game was rebuilt,
+     * so a failed revive does not lose the game
+     * @param sessionId Session id
+     * @return The game or null if this session is not hibernated
+     */
+    public Game revive(String sessionId) {
+        long start = System.nanoTime();
+        Game game;
+
+        if (directory == null) {
+            Stored stored = offHeap.get(sessionId);
+            if (stored == null || !stored.claimed.compareAndSet(false, true)) {
+                // Not hibernated, or another thread is reviving it
+                return null;
+            }
+            try {
+                game = deserialize(slab.load(stored));
+            } catch (RuntimeException e) {
+                stored.claimed.set(false);
+                throw e;
+            }
+            offHeap.remove(sessionId, stored);
+            slab.release(stored);
+            storedBytes.addAndGet(-stored.length);
+        } else {
+            Path file = fileFor(sessionId);
+            Path claimed = file.resolveSibling(file.getFileName() + ".reviving");
+            try {
+                // Renaming is atomic: only one thread can take the file
+                Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Not hibernated, or another thread is reviving it
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not revive session " + sessionId, e);
+            }
+            try {
+                game = deserialize(Files.readAllBytes(claimed));
+                Files.deleteIfExists(claimed);
+            } catch (IOException | RuntimeException e) {
+                // Give the file back, so the game is not lost
+                try {
+                    Files.move(claimed, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException moveBack) {
+                    e.addSuppressed(moveBack);
+                }
+                if (e instanceof IOException) {
+                    throw new UncheckedIOException("Could not revive session " + sessionId,
+                            (IOException) e);
+                }
+                throw (RuntimeException) e;
+            }
+        }
+
+        EventRing ring = rings.remove(sessionId);
+        if (ring != null) {
+            game.attachEvents(ring);
+        }
+        World host = hosts.remove(sessionId);
+        if (host != null) {
+            game.setHost(host);
+        }
+
+        reviveNanos.addAndGet(System.nanoTime() - start);
+        reviveCount.incrementAndGet();
+        return game;
+    }
+
+    /**
+     * Checks if a session is hibernated
+     * @param sessionId Session id
+     */
+    public boolean isHibernated(String sessionId) {
+        if (directory == null) {
+            return offHeap.containsKey(sessionId);
+        }
+        return Files.exists(fileFor(sessionId));
+    }
+
+    /**
+     * Gives back the slots of a replaced game, unless it is being revived
+     * (then the reviving thread gives them back)
+     */
+    private void free(Stored stored) {
+        if (stored.claimed.compareAndSet(false, true)) {
+            slab.release(stored);
+            storedBytes.addAndGet(-stored.length);
+        }
+    }
+
+    /**
+     * Converts the game to compressed bytes
+     */
+    private byte[] serialize(Game game) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize game", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds the game from compressed bytes
+     */
+    private Game deserialize(byte[] bytes) {
+        InputStream compressed = new InflaterInputStream(new ByteArrayInputStream(bytes));
+        try (ObjectInputStream in = new ObjectInputStream(compressed)) {
+            return (Game) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize game", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Saved game has an unknown class", e);
+        }
+    }
+
+    /**
+     * Returns the file used for a session
+     */
+    private Path fileFor(String sessionId) {
+        // Hex of the id: only safe characters, and two ids never share a file
+        String name = HexFormat.of().formatHex(sessionId.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + ".session");
+    }
+
+    // Metrics getters
+    public long getHibernateCount() {
+        return hibernateCount.get();
+    }
+
+    public long getReviveCount() {
+        return reviveCount.get();
+    }
+
+    /**
+     * Average hibernate time in nanoseconds
+     */
+    public long getAverageHibernateNanos() {
+        long count = hibernateCount.get();
+        return count == 0 ? 0 : hibernateNanos.get() / count;
+    }
+
+    /**
+     * Average revive time in nanoseconds
+     */
+    public long getAverageReviveNanos() {
+        long count = reviveCount.get();
+        return count == 0 ? 0 : reviveNanos.get() / count;
+    }
+
+    /**
+     * Bytes currently used off-heap by hibernated sessions
+     */
+    public long getOffHeapBytes() {
+        return storedBytes.get();
+    }
+
+    /**
+     * Size of the off-heap region (0 when games go to files)
+     */
+    public long getOffHeapCapacity() {
+        return slab == null ? 0 : slab.capacity();
+    }
+}
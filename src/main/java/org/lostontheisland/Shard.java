@@ -0,0 +1,130 @@
+package org.lostontheisland;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * SHARD CLASS - One region of a shared world and the thread that owns it
+ *
+ * Every change to the rooms of a shard runs on its own thread,
+ * one task after the other. Because only one thread ever touches
+ * those rooms (their items, animals and how many players are in each),
+ * they need no locks.
+ *
+ * Tasks arrive through a bounded queue, so a busy shard slows down
+ * whoever sends it work instead of growing without limit.
+ */
+class Shard {
+    private static final Runnable STOP = () -> { };    // Tells the worker to finish
+
+    private final int id;                       // Shard number
+    private final BlockingQueue<Runnable> mailbox;   // Pending tasks
+    private final Thread worker;                // The only thread touching the rooms
+    private final HashMap<Room, Integer> players;    // Room -> players in it (worker only)
+    private final WorldDelta rooms;             // Changes to the rooms, seen by every game (worker only)
+
+    /**
+     * CONSTRUCTOR - Creates and starts a shard
+     * @param id Shard number
+     * @param queueCapacity Maximum pending tasks
+     */
+    Shard(int id, int queueCapacity) {
+        this.id = id;
+        this.mailbox = new ArrayBlockingQueue<>(queueCapacity);
+        this.players = new HashMap<>();
+        this.rooms = new WorldDelta();
+        this.worker = new Thread(this::run, "shard-" + id);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Worker loop: runs the tasks in arrival order
+     */
+    private void run() {
+        while (true) {
+            Runnable task;
+            try {
+                task = mailbox.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // One broken task (even an Error) must not stop the whole region,
+                // or the tasks still queued would never run
+                System.err.println("Task failed in shard " + id + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Sends a task, waiting while the queue is full
+     * Used by threads outside the world (e.g., network handlers)
+     */
+    void submit(Runnable task) throws InterruptedException {
+        mailbox.put(task);
+    }
+
+    /**
+     * Sends a task only if there is room right now
+     * Used between shards: a shard must never wait for another one,
+     * or two full shards waiting on each other would never finish
+     * @return true if the task was accepted
+     */
+    boolean offer(Runnable task) {
+        return mailbox.offer(task);
+    }
+
+    /**
+     * Checks if the calling thread is this shard's worker
+     */
+    boolean isOwnerThread() {
+        return Thread.currentThread() == worker;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    // Players in the rooms (only the worker calls these)
+    void enter(Room room) {
+        players.merge(room, 1, Integer::sum);
+    }
+
+    void leave(Room room) {
+        if (players.merge(room, -1, Integer::sum) <= 0) {
+            players.remove(room);
+        }
+    }
+
+    int playersIn(Room room) {
+        return players.getOrDefault(room, 0);
+    }
+
+    /**
+     * Returns the changes to this shard's rooms (only the worker may use them)
+     */
+    WorldDelta getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Returns how many tasks are waiting
+     */
+    int getPending() {
+        return mailbox.size();
+    }
+
+    /**
+     * Stops the worker after the tasks already queued
+     */
+    void stop() throws InterruptedException {
+        mailbox.put(STOP);
+        worker.join();
+    }
+}
@@ -0,0 +1,61 @@
+package org.lostontheisland;
+/**
+ * SPECTATOR CLASS - Watches a game through its event ring
+ *
+ * Each spectator has:
+ * - Its own reading position
+ * - A count of the events it lost for being too slow
+ *
+ * A spectator is used by one thread only, but many spectators
+ * can read the same ring at the same time.
+ */
+public class Spectator {
+    private final EventRing ring;   // Ring being watched
+    private long cursor;            // Next sequence to read
+    private long dropped;           // Events lost (overwritten before being read)
+
+    /**
+     * CONSTRUCTOR - Creates a spectator (use EventRing.subscribe())
+     * @param ring Ring to watch
+     * @param cursor First sequence to read
+     */
+    Spectator(EventRing ring, long cursor) {
+        this.ring = ring;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Reads the next event
+     * If the spectator fell too far behind, it jumps to the oldest event still kept
+     * @return The next event or null if there is nothing new
+     */
+    public GameEvent poll() {
+        while (true) {
+            long head = ring.getPublished();
+            if (cursor >= head) {
+                return null;
+            }
+
+            // Too slow: the events before 'oldest' were overwritten
+            long oldest = head - ring.getCapacity();
+            if (cursor < oldest) {
+                dropped += oldest - cursor;
+                cursor = oldest;
+            }
+
+            GameEvent event = ring.slot(cursor);
+            if (event.getSequence() == cursor) {
+                cursor++;
+                return event;
+            }
+            // The slot was reused while reading: try again from the new head
+        }
+    }
+
+    /**
+     * Returns how many events were lost
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
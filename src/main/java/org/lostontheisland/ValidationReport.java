@@ -0,0 +1,113 @@
+package org.lostontheisland;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * VALIDATION REPORT CLASS - Result of checking a map with WorldValidator
+ *
+ * The report has:
+ * - Rooms that can't be reached from the start
+ * - Rooms where the player gets trapped (no way back to the win room)
+ * - One-way exits (a warning: fine unless they trap the player)
+ * - Guarded rooms with items but no reachable knife
+ * - Number of strongly connected components of the exit graph
+ * - Whether the game can be won, and why not
+ */
+public class ValidationReport {
+    private final int roomCount;
+    private final List<String> unreachableRooms;
+    private final List<String> trapRooms;
+    private final List<String> oneWayExits;
+    private final List<String> lockedRooms;
+    private final int componentCount;
+    private final boolean winnable;
+    private final String winProblem;    // Why the game can't be won (null if it can)
+
+    /**
+     * CONSTRUCTOR - Creates a report (used by WorldValidator)
+     */
+    ValidationReport(int roomCount, List<String> unreachableRooms, List<String> trapRooms,
+                     List<String> oneWayExits, List<String> lockedRooms,
+                     int componentCount, String winProblem) {
+        this.roomCount = roomCount;
+        this.unreachableRooms = Collections.unmodifiableList(unreachableRooms);
+        this.trapRooms = Collections.unmodifiableList(trapRooms);
+        this.oneWayExits = Collections.unmodifiableList(oneWayExits);
+        this.lockedRooms = Collections.unmodifiableList(lockedRooms);
+        this.componentCount = componentCount;
+        this.winnable = winProblem == null;
+        this.winProblem = winProblem;
+    }
+
+    // Getters
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public List<String> getUnreachableRooms() {
+        return unreachableRooms;
+    }
+
+    public List<String> getTrapRooms() {
+        return trapRooms;
+    }
+
+    public List<String> getOneWayExits() {
+        return oneWayExits;
+    }
+
+    public List<String> getLockedRooms() {
+        return lockedRooms;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public boolean isWinnable() {
+        return winnable;
+    }
+
+    public String getWinProblem() {
+        return winProblem;
+    }
+
+    /**
+     * Checks if the map can be used
+     * One-way exits alone are allowed; unreachable rooms, traps,
+     * locked items and unwinnable maps are not
+     */
+    public boolean isValid() {
+        return winnable && unreachableRooms.isEmpty() && trapRooms.isEmpty() && lockedRooms.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Map Validation ===\n");
+        sb.append("Rooms: ").append(roomCount).append("\n");
+        sb.append("Components: ").append(componentCount).append("\n");
+        sb.append("Winnable: ").append(winnable ? "yes" : "no (" + winProblem + ")").append("\n");
+        appendList(sb, "Unreachable rooms", unreachableRooms);
+        appendList(sb, "Trap rooms", trapRooms);
+        appendList(sb, "Locked rooms", lockedRooms);
+        appendList(sb, "One-way exits", oneWayExits);
+        return sb.toString();
+    }
+
+    /**
+     * Adds a list to the text (only the first few entries of long lists)
+     */
+    private static void appendList(StringBuilder sb, String title, List<String> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        sb.append(title).append(" (").append(entries.size()).append("): ");
+        int shown = Math.min(entries.size(), 10);
+        sb.append(String.join(", ", entries.subList(0, shown)));
+        if (shown < entries.size()) {
+            sb.append(", ...");
+        }
+        sb.append("\n");
+    }
+}
@@ -0,0 +1,297 @@
+package org.lostontheisland;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * WORLD CLASS - A big shared island split into shards
+ *
+ * How it works:
+ * - Every room belongs to exactly one shard
+ * - Each shard keeps the changes to its rooms (items taken or dropped,
+ *   animals killed), shared by every game, and counts the players in them
+ * - Every change to a room runs on the thread of its shard
+ * - A game's commands run on the shard of the room its player is in
+ * - A move into a room of another shard hands the game off to that
+ *   shard through its (bounded) queue: the move and the rest of the
+ *   typed line run there
+ *
+ * Players spread over the island are served by different threads,
+ * so the world uses all the cores without any lock on the rooms.
+ * A shard never waits for another one: if the other queue is full,
+ * the handoff fails at once, the player stays where they are and
+ * the rest of the line is not run (the output says the path is crowded).
+ */
+public class World implements AutoCloseable {
+    private final Shard[] shards;                       // All the shards
+    private final HashMap<Room, Integer> assignments;   // Room -> shard (set before starting)
+
+    /**
+     * CONSTRUCTOR - Creates a world and starts its shard threads
+     * @param shardCount How many shards (usually the number of cores)
+     * @param queueCapacity Maximum pending tasks per shard
+     */
+    public World(int shardCount, int queueCapacity) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Need at least one shard: " + shardCount);
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+        this.assignments = new HashMap<>();
+    }
+
+    /**
+     * Puts a room in a specific shard (e.g., rooms of the same region together)
+     * Must be done while building the world, before any task runs
+     * @param room Room to place
+     * @param shard Shard number
+     */
+    public void assign(Room room, int shard) {
+        if (shard < 0 || shard >= shards.length) {
+            throw new IllegalArgumentException("No shard " + shard);
+        }
+        assignments.put(room, shard);
+    }
+
+    /**
+     * Returns the shard that owns a room
+     * Rooms without an assignment are spread by name
+     * @param room The room
+     * @return Shard number
+     */
+    public int shardOf(Room room) {
+        Integer shard = assignments.get(room);
+        if (shard != null) {
+            return shard;
+        }
+        return Math.floorMod(room.getName().hashCode(), shards.length);
+    }
+
+    /**
+     * Runs an action on the thread that owns the room
+     * - Called on that thread: runs right away
+     * - Called from another shard: queued only if there is room now
+     *   (otherwise the result fails with RejectedExecutionException)
+     * - Called from outside the world: waits while the queue is full
+     * @param room Room the action changes
+     * @param action What to do
+     * @return Result of the action, available when it finishes
+     */
+    public <T> CompletableFuture<T> execute(Room room, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                result.complete(action.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        send(shards[shardOf(room)], task, result);
+        return result;
+    }
+
+    /**
+     * Sends a task to a shard, the right way for the calling thread
+     * If the task cannot be sent, 'result' fails
+     */
+    private void send(Shard shard, Runnable task, CompletableFuture<?> result) {
+        if (shard.isOwnerThread()) {
+            task.run();
+        } else if (onShardThread()) {
+            if (!shard.offer(task)) {
+                result.completeExceptionally(
+                        new RejectedExecutionException("Shard " + shard.getId() + " is full"));
+            }
+        } else {
+            try {
+                shard.submit(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Checks if the calling thread is the worker of any shard
+     */
+    private boolean onShardThread() {
+        for (Shard shard : shards) {
+            if (shard.isOwnerThread()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a game to the world: its player appears in the current room
+     * From now on, the game must be played with play()
+     * @param game The game
+     * @return Done when the player was counted in the room
+     */
+    public CompletableFuture<Void> join(Game game) {
+        game.setHost(this);
+        return execute(game.getCurrentRoom(), () -> {
+            count(game);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a line of commands for a game of this world
+     * The commands run on the shard of the player's room; after a move to
+     * another shard, the rest of the line runs on that shard
+     * Send the next line only when this one is done
+     * @param game The game (added with join)
+     * @param line Commands typed
+     * @return Everything the commands printed (UTF-8)
+     */
+    public CompletableFuture<byte[]> play(Game game, String line) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Shard shard = shards[shardOf(game.getCurrentRoom())];
+        send(shard, () -> playFrom(game, line, 0, output, result), result);
+        return result;
+    }
+
+    /**
+     * Runs part of a line, on the shard that owns the room it needs
+     * @param start Where the part starts in the line
+     */
+    private void playFrom(Game game, String line, int start, ByteArrayOutputStream output,
+                          CompletableFuture<byte[]> result) {
+        try {
+            output.writeBytes(game.runCommandsFrom(line, start));
+
+            if (game.isFinished()) {
+                // The player leaves the world
+                uncount(game);
+                result.complete(output.toByteArray());
+                return;
+            }
+            count(game);
+
+            Room next = game.getResumeIn();
+            if (next == null) {
+                result.complete(output.toByteArray());
+                return;
+            }
+            // The rest of the line needs a room of another shard
+            int resumeAt = game.getResumeAt();
+            if (!handOff(game, next, () -> playFrom(game, line, resumeAt, output, result))) {
+                Messages.PATH_CROWDED.writeTo(new PrintStream(output, true, StandardCharsets.UTF_8));
+                result.complete(output.toByteArray());
+            }
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Hands a game over to the shard that owns a room
+     * Must be called on the thread that owns the room the player is counted in
+     * The player stops being counted here first, so the count is always
+     * changed by the owner of the room
+     * @param game The game
+     * @param room Room the game needs next
+     * @param rest What runs next, on the owner of 'room'
+     * @return false if that shard's queue is full right now
+     *         (then nothing changed: the player is counted here again)
+     */
+    private boolean handOff(Game game, Room room, Runnable rest) {
+        uncount(game);
+        if (shards[shardOf(room)].offer(rest)) {
+            return true;
+        }
+        count(game);
+        return false;
+    }
+
+    /**
+     * Counts the player in its room, if the calling thread owns that room
+     * (otherwise the owner counts it when the game gets there)
+     */
+    private void count(Game game) {
+        Room room = game.getCurrentRoom();
+        if (game.getCountedIn() == room || !isOwner(room)) {
+            return;
+        }
+        uncount(game);
+        shards[shardOf(room)].enter(room);
+        game.setCountedIn(room);
+    }
+
+    /**
+     * Stops counting the player (on the thread that owns the counted room)
+     */
+    private void uncount(Game game) {
+        Room room = game.getCountedIn();
+        if (room != null) {
+            shards[shardOf(room)].leave(room);
+            game.setCountedIn(null);
+        }
+    }
+
+    /**
+     * Returns how many players are in a room
+     * @param room The room
+     */
+    public CompletableFuture<Integer> countPlayers(Room room) {
+        return execute(room, () -> shards[shardOf(room)].playersIn(room));
+    }
+
+    /**
+     * Returns the shared changes to a room (items, killed animals)
+     * Only the thread that owns the room may use them
+     * @param room The room
+     * @throws IllegalStateException if called from another thread
+     */
+    WorldDelta stateOf(Room room) {
+        Shard shard = shards[shardOf(room)];
+        if (!shard.isOwnerThread()) {
+            throw new IllegalStateException(room.getName() + " can only be used on shard "
+                    + shard.getId());
+        }
+        return shard.getRooms();
+    }
+
+    /**
+     * Checks if the calling thread owns the room (useful in assertions)
+     */
+    public boolean isOwner(Room room) {
+        return shards[shardOf(room)].isOwnerThread();
+    }
+
+    /**
+     * Returns how many tasks are waiting in a shard
+     */
+    public int getPending(int shard) {
+        return shards[shard].getPending();
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stops all shards after their queued tasks
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            try {
+                shard.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.lostontheisland;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WORLD BENCHMARK CLASS - Measures how a World scales with its shards
+ *
+ * How it works:
+ * - The rooms of the island are spread evenly over the shards
+ * - Many games join the world and play random commands through
+ *   World.play, so players walk between rooms (and shards)
+ * - A few client threads send the commands, like network handlers
+ * - The same load runs with 1, 2, 4... shards
+ *
+ * For each shard count it shows commands per second and the speedup
+ * compared to one shard. Near-linear scaling means the speedup grows
+ * like the shard count, up to the number of cores (and of rooms:
+ * a room never runs on two shards).
+ *
+ * Usage: WorldBenchmark [maxShards] [games] [clients] [secondsPerRun]
+ */
+public class WorldBenchmark {
+
+    // Commands a random player can type (mostly walking, to cross shards)
+    private static final String[] COMMANDS = {
+        "go north", "go south", "go east", "go west", "go north", "go south",
+        "take fruit", "eat fruit", "take bottle", "use bottle", "drink", "status"
+    };
+
+    private static final int MAX_COMMANDS = 40;     // Games end (quit) after this
+
+    private final int games;            // Games playing at the same time
+    private final int clients;          // Threads sending commands
+    private final long runNanos;        // Time per shard count
+
+    /**
+     * CONSTRUCTOR - Prepares a benchmark
+     * @param games Games playing at the same time
+     * @param clients Threads sending commands
+     * @param seconds Time per shard count
+     */
+    public WorldBenchmark(int games, int clients, int seconds) {
+        if (games < clients || clients < 1) {
+            throw new IllegalArgumentException("Need at least one game per client: "
+                    + games + " games, " + clients + " clients");
+        }
+        this.games = games;
+        this.clients = clients;
+        this.runNanos = TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    /**
+     * Runs the load on a world with some shards
+     * @return Commands per second
+     */
+    public double run(int shardCount) throws InterruptedException {
+        AtomicLong commands = new AtomicLong();
+        try (World world = new World(shardCount, 4 * games)) {
+            int next = 0;
+            for (Room room : WorldTemplate.island().getRooms()) {
+                world.assign(room, next++ % shardCount);
+            }
+
+            long deadline = System.nanoTime() + runNanos;
+            Thread[] threads = new Thread[clients];
+            for (int i = 0; i < clients; i++) {
+                int first = i * games / clients;
+                int last = (i + 1) * games / clients;
+                threads[i] = new Thread(() -> drive(world, first, last, deadline, commands),
+                        "client-" + i);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        return commands.get() / (runNanos / 1e9);
+    }
+
+    /**
+     * One client thread: keeps its games busy until the deadline
+     * All its games get a command, then it waits for all the answers
+     */
+    private void drive(World world, int first, int last, long deadline, AtomicLong commands) {
+        Random random = new Random(first);
+        int count = last - first;
+        Game[] played = new Game[count];
+        int[] steps = new int[count];
+        List<CompletableFuture<byte[]>> answers = new ArrayList<>(count);
+
+        while (System.nanoTime() < deadline) {
+            answers.clear();
+            for (int i = 0; i < count; i++) {
+                if (played[i] == null || played[i].isFinished()) {
+                    played[i] = new Game("bot" + (first + i));
+                    steps[i] = 0;
+                    world.join(played[i]).join();
+                }
+                String command = steps[i]++ < MAX_COMMANDS
+                        ? COMMANDS[random.nextInt(COMMANDS.length)] : "quit";
+                answers.add(world.play(played[i], command));
+            }
+            for (int i = 0; i < count; i++) {
+                answers.get(i).join();
+            }
+            commands.addAndGet(count);
+        }
+    }
+
+    /**
+     * Main method - runs the load with 1, 2, 4... shards and prints the speedups
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxShards = args.length > 0 ? Integer.parseInt(args[0]) : cores;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        WorldBenchmark benchmark = new WorldBenchmark(games, clients, seconds);
+        benchmark.run(1);   // Warm-up
+
+        System.out.println("\n=== World Scaling (" + cores + " cores, "
+                + WorldTemplate.island().getRooms().size() + " rooms) ===");
+        double base = 0;
+        for (int shards = 1; shards <= maxShards; shards *= 2) {
+            double rate = benchmark.run(shards);
+            if (shards == 1) {
+                base = rate;
+            }
+            System.out.printf("Shards %2d: %10.0f commands/s  speedup %.2fx%n",
+                    shards, rate, rate / base);
+        }
+    }
+}
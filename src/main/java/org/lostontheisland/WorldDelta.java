@@ -0,0 +1,288 @@
+package org.lostontheisland;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WORLD DELTA CLASS - What one game changed in the shared map
+ *
+ * The rooms of a WorldTemplate never change. Instead, each game keeps:
+ * - The items of the rooms it changed (copied the first time they change)
+ * - The animals it killed (one bit per animal of the template, by its
+ *   number, so two animals with the same name are never mixed up and
+ *   killing one never creates objects)
+ *
+ * Rooms the player never touched use the template directly,
+ * so a game only uses memory for what the player changed.
+ *
+ * It can also answer "where is" questions for this game, combining
+ * the template index with the changes.
+ */
+public class WorldDelta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final HashMap<String, ArrayList<Item>> items;       // Room name -> items now
+    private final BitSet killed;                                // Numbers of the dead animals
+    private transient WorldTemplate template;                   // Map this delta changes
+    private transient ItemIndex base;                           // Index of the template
+    private transient ItemIndex changes;                        // Index of the changed rooms only
+
+    /**
+     * CONSTRUCTOR - Creates an empty delta for the island
+     */
+    public WorldDelta() {
+        this(WorldTemplate.island());
+    }
+
+    /**
+     * CONSTRUCTOR - Creates an empty delta (nothing changed yet)
+     * @param template Map this delta changes
+     */
+    public WorldDelta(WorldTemplate template) {
+        this.items = new HashMap<>();
+        // One bit per animal, reserved now: killing never has to grow it
+        this.killed = new BitSet(template.getAnimalCount());
+        this.template = template;
+        this.base = template.getIndex();
+        this.changes = new ItemIndex();
+    }
+
+    /**
+     * Restores a saved delta: the indexes are not saved, so they are built again
+     * (saved games always belong to the island, like their rooms)
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        template = WorldTemplate.island();
+        base = template.getIndex();
+        changes = new ItemIndex();
+        for (Map.Entry<String, ArrayList<Item>> entry : items.entrySet()) {
+            for (Item item : entry.getValue()) {
+                changes.itemAdded(entry.getKey(), item.getName());
+            }
+        }
+    }
+
+    /**
+     * Returns the items currently in a room
+     * The list is read-only: use addItem and removeItem
+     * @param room The room
+     */
+    public List<Item> getItems(Room room) {
+        ArrayList<Item> changed = items.get(room.getName());
+        return changed != null ? Collections.unmodifiableList(changed) : room.getItems();
+    }
+
+    /**
+     * Same as getItems, without the read-only wrapper (for this class only)
+     */
+    private List<Item> currentItems(Room room) {
+        ArrayList<Item> changed = items.get(room.getName());
+        return changed != null ? changed : room.getItems();
+    }
+
+    /**
+     * Returns the item list of a room that this game can change
+     * The template list is copied the first time
+     */
+    private ArrayList<Item> writableItems(Room room) {
+        ArrayList<Item> changed = items.get(room.getName());
+        if (changed == null) {
+            changed = new ArrayList<>(room.getItems());
+            items.put(room.getName(), changed);
+            for (int i = 0; i < changed.size(); i++) {
+                changes.itemAdded(room.getName(), changed.get(i).getName());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Adds an item to a room (only for this game)
+     */
+    public void addItem(Room room, Item item) {
+        writableItems(room).add(item);
+        changes.itemAdded(room.getName(), item.getName());
+    }
+
+    /**
+     * Removes an item from a room (only for this game)
+     * @param room The room
+     * @param itemName Item name
+     * @return The removed item or null if not found
+     */
+    public Item removeItem(Room room, String itemName) {
+        List<Item> current = currentItems(room);
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i).getName().equalsIgnoreCase(itemName)) {
+                // Copies the list only now that something really changes
+                Item item = writableItems(room).remove(i);
+                changes.itemRemoved(room.getName(), item.getName());
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if an animal is alive in a room in this game
+     * @param room Room of the animal
+     * @param animal The animal
+     * @return false if it is dead, or if it doesn't live in that room
+     */
+    public boolean isAlive(Room room, Animal animal) {
+        if (!animal.isAlive() || room.indexOfAnimal(animal) < 0) {
+            return false;
+        }
+        // Animals outside the template can't be killed in a delta
+        return animal.getNumber() < 0 || !killed.get(animal.getNumber());
+    }
+
+    /**
+     * Searches for a live animal by name
+     * If several have the name, the first one still alive is returned
+     * @param room The room
+     * @param animalName Animal name
+     * @return The animal or null if not there (or dead in this game)
+     */
+    public Animal getLiveAnimal(Room room, String animalName) {
+        List<Animal> animals = room.getAnimals();
+        for (int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            if (animal.getName().equalsIgnoreCase(animalName) && isAlive(room, animal)) {
+                return animal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Kills an animal (only for this game)
+     * Only this animal dies, even if others in the room have its name
+     * @param room Room of the animal
+     * @param animal The animal
+     */
+    public void kill(Room room, Animal animal) {
+        int position = room.indexOfAnimal(animal);
+        if (position < 0) {
+            throw new IllegalArgumentException(animal.getName() + " is not in " + room.getName());
+        }
+        if (animal.getNumber() < 0) {
+            throw new IllegalArgumentException(animal.getName() + " is not part of a template");
+        }
+        if (!isAlive(room, animal)) {
+            return;
+        }
+        killed.set(animal.getNumber());
+    }
+
+    /**
+     * Writes complete information about a room, as seen in this game
+     * @param room The room
+     * @param out Where to write
+     */
+    public void describe(Room room, PrintStream out) {
+        room.describe(out, currentItems(room), this);
+    }
+
+    /**
+     * Returns the names of the rooms that have an item in this game
+     * Only walks the rooms that have it, in the template and in the changes
+     * @param itemName Item name (e.g., "gold")
+     * @return Room names (read-only)
+     */
+    public Set<String> roomsWithItem(String itemName) {
+        if (items.isEmpty()) {
+            return base.roomsWithItem(itemName);
+        }
+        HashSet<String> rooms = new HashSet<>();
+        for (String room : base.roomsWithItem(itemName)) {
+            // Changed rooms are answered by 'changes'
+            if (!items.containsKey(room)) {
+                rooms.add(room);
+            }
+        }
+        rooms.addAll(changes.roomsWithItem(itemName));
+        return Collections.unmodifiableSet(rooms);
+    }
+
+    /**
+     * Returns how many of an item are in the rooms in this game
+     * (items carried by the player are not counted)
+     */
+    public int countItem(String itemName) {
+        int count = base.countItem(itemName) + changes.countItem(itemName);
+        for (String room : items.keySet()) {
+            count -= base.countItemIn(room, itemName);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the names of the rooms that have a live animal in this game
+     * @param animalName Animal name (e.g., "fish")
+     * @return Room names (read-only)
+     */
+    public Set<String> roomsWithAnimal(String animalName) {
+        if (killed.isEmpty()) {
+            return base.roomsWithAnimal(animalName);
+        }
+        HashSet<String> rooms = new HashSet<>();
+        for (String room : base.roomsWithAnimal(animalName)) {
+            // Some of the animals with this name may still be alive
+            if (countLiveAnimals(template.getRoom(room), animalName) > 0) {
+                rooms.add(room);
+            }
+        }
+        return Collections.unmodifiableSet(rooms);
+    }
+
+    /**
+     * Returns how many of an animal are still alive in this game
+     */
+    public int countAnimal(String animalName) {
+        if (killed.isEmpty()) {
+            return base.countAnimal(animalName);
+        }
+        int count = 0;
+        for (String room : base.roomsWithAnimal(animalName)) {
+            count += countLiveAnimals(template.getRoom(room), animalName);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the animals with a name still alive in one room
+     */
+    private int countLiveAnimals(Room room, String animalName) {
+        List<Animal> animals = room.getAnimals();
+        int count = 0;
+        for (int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            if (animal.getName().equalsIgnoreCase(animalName) && isAlive(room, animal)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many rooms this game changed
+     */
+    public int getChangedRoomCount() {
+        HashSet<String> changed = new HashSet<>(items.keySet());
+        for (int i = killed.nextSetBit(0); i >= 0; i = killed.nextSetBit(i + 1)) {
+            changed.add(template.getAnimal(i).getLocation().getName());
+        }
+        return changed.size();
+    }
+}
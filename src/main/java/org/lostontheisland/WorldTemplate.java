@@ -0,0 +1,195 @@
+package org.lostontheisland;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * WORLD TEMPLATE CLASS - The island map, shared by all games
+ *
+ * The template is built once per program and then frozen:
+ * its rooms, items and animals never change. Each game keeps
+ * only what the player changed in a WorldDelta, so starting
+ * a new game doesn't copy the map.
+ */
+public class WorldTemplate {
+    private final Room start;                   // Where games start
+    private final HashMap<String, Room> rooms;  // Room name -> room
+    private final ItemIndex index;              // Where the items and animals are
+    private final ArrayList<Animal> animals;    // All animals, by their number
+
+    /**
+     * Holder for the island, built the first time it is used
+     */
+    private static final class Island {
+        private static final WorldTemplate INSTANCE = createIsland();
+    }
+
+    /**
+     * CONSTRUCTOR - Freezes a map and makes it a template
+     * All rooms reachable from the start become read-only
+     * @param start Room where games start
+     */
+    public WorldTemplate(Room start) {
+        this.start = start;
+        this.rooms = new HashMap<>();
+
+        // Visits every room reachable through the exits
+        ArrayDeque<Room> pending = new ArrayDeque<>();
+        pending.add(start);
+        while (!pending.isEmpty()) {
+            Room room = pending.poll();
+            Room known = rooms.putIfAbsent(room.getName(), room);
+            if (known != null) {
+                if (known != room) {
+                    throw new IllegalArgumentException("Two rooms are called " + room.getName());
+                }
+                continue;
+            }
+            pending.addAll(room.getNeighbors());
+        }
+
+        // Numbers the animals, rooms in name order, so a saved game finds the same ones
+        this.animals = new ArrayList<>();
+        ArrayList<Room> byName = new ArrayList<>(rooms.values());
+        byName.sort(Comparator.comparing(Room::getName));
+        for (Room room : byName) {
+            List<Animal> inRoom = room.getAnimals();
+            for (int i = 0; i < inRoom.size(); i++) {
+                inRoom.get(i).setNumber(animals.size());
+                animals.add(inRoom.get(i));
+            }
+        }
+
+        this.index = new ItemIndex();
+        for (Room room : rooms.values()) {
+            room.attachIndex(index);
+            room.freeze();
+        }
+    }
+
+    /**
+     * Returns the shared island map
+     */
+    public static WorldTemplate island() {
+        return Island.INSTANCE;
+    }
+
+    /**
+     * Builds the island and checks it can be played
+     */
+    private static WorldTemplate createIsland() {
+        WorldTemplate island = new WorldTemplate(createRooms());
+        ValidationReport report = island.validate("gold", "Beach");
+        if (!report.isValid()) {
+            throw new IllegalStateException("The island map is broken\n" + report);
+        }
+        return island;
+    }
+
+    /**
+     * Checks the map (reachability, traps, winnability...)
+     * @param treasureName Item the player must find
+     * @param winRoomName Room where the player wins with it
+     * @return Report with all the problems found
+     */
+    public ValidationReport validate(String treasureName, String winRoomName) {
+        return new WorldValidator(start, rooms.values()).validate(treasureName, winRoomName);
+    }
+
+    /**
+     * Creates all game rooms and their contents
+     * This is the game's "map"
+     * @return The room where the game starts
+     */
+    private static Room createRooms() {
+        // Creating rooms
+        Room sea = new Room("Sea",
+                "You are floating in the sea after the storm. Sharks swim nearby!");
+        Room beach = new Room("Beach",
+                "A calm beach with white sand. You can see fruits on the palm trees.");
+        Room jungle = new Room("Jungle",
+                "A dense and dark jungle. You hear animal sounds everywhere.");
+        Room cave = new Room("Cave",
+                "A dark and scary cave. You feel something dangerous is here...");
+        Room mountain = new Room("Mountain",
+                "The top of the mountain. From here you can see the entire island!");
+
+        // Connects the rooms (defining exits)
+        // Sea -> Beach
+        sea.setExit("north", beach);
+
+        // Beach -> Sea, Jungle, Mountain
+        beach.setExit("south", sea);
+        beach.setExit("north", jungle);
+        beach.setExit("east", mountain);
+
+        // Jungle -> Beach, Cave
+        jungle.setExit("south", beach);
+        jungle.setExit("west", cave);
+
+        // Cave -> Jungle
+        cave.setExit("east", jungle);
+
+        // Mountain -> Beach
+        mountain.setExit("west", beach);
+
+        // Adds items to rooms
+        beach.addItem(new Item("fruit", "A juicy fruit", true));
+        beach.addItem(new Item("bottle", "An empty bottle", true));
+        jungle.addItem(new Item("woodstick", "A strong piece of wood", true));
+        jungle.addItem(new Item("knife", "A sharp knife", true));
+        cave.addItem(new Item("gold", "The island's treasure!", true));
+
+        // Adds animals to rooms
+        sea.addAnimal(new Animal("shark", "A dangerous shark", 8));
+        cave.addAnimal(new Animal("bear", "A huge fierce bear!", 10));
+        jungle.addAnimal(new Animal("fish", "A fish you can catch", 0));
+
+        // The game starts at sea
+        return sea;
+    }
+
+    // Getters
+    public Room getStart() {
+        return start;
+    }
+
+    /**
+     * Searches for a room by name
+     * @param name Room name
+     * @return The room or null if not found
+     */
+    public Room getRoom(String name) {
+        return rooms.get(name);
+    }
+
+    /**
+     * Returns the index of the items and animals of the template
+     * (games see their own changes through WorldDelta)
+     */
+    public ItemIndex getIndex() {
+        return index;
+    }
+
+    public Collection<Room> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    /**
+     * Returns how many animals the template has
+     */
+    public int getAnimalCount() {
+        return animals.size();
+    }
+
+    /**
+     * Returns an animal by its number (see Animal.getNumber)
+     */
+    Animal getAnimal(int number) {
+        return animals.get(number);
+    }
+}
@@ -0,0 +1,398 @@
+package org.lostontheisland;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * WORLD VALIDATOR CLASS - Finds broken maps before anyone plays them
+ *
+ * The exit graph is copied into plain arrays (fast even with millions
+ * of rooms), then these checks run in parallel:
+ * - Reachability: every room can be reached from the start
+ * - Traps: from every reachable room the win room can be reached again
+ *   (both walk around deadly rooms: a path through one kills the player;
+ *   deadly rooms themselves are hazards, so they are not listed)
+ * - One-way exits (setExit without the way back)
+ * - Strongly connected components of the exit graph
+ * - Winnability: following the game rules (sharks kill, bears need
+ *   a knife), the player can get the treasure and bring it to the win room
+ */
+public class WorldValidator {
+    // The rules come from Game.goRoom: a room with a live deadly animal kills,
+    // a room with a live guard can only be entered carrying the weapon
+    private static final String DEADLY_ANIMAL = Game.DEADLY_ANIMAL;
+    private static final String GUARD_ANIMAL = Game.GUARD_ANIMAL;
+    private static final String GUARD_WEAPON = Game.GUARD_WEAPON;
+
+    private final Room[] rooms;         // Room number -> room
+    private final int start;            // Number of the start room
+    private final int[] offsets;        // Exits of room i are targets[offsets[i] .. offsets[i+1])
+    private final int[] targets;        // Exit destinations
+    private final String[] directions;  // Exit directions (same positions as targets)
+    private final boolean[] deadly;     // Room has a live deadly animal
+    private final boolean[] guarded;    // Room has a live guard animal
+
+    /**
+     * CONSTRUCTOR - Reads the map into arrays
+     * Rooms reachable from the start are added even if not listed
+     * @param start Room where games start
+     * @param allRooms All rooms of the map (to find unreachable ones)
+     */
+    public WorldValidator(Room start, Collection<Room> allRooms) {
+        // Numbers every room (listed ones first, then any found through exits)
+        IdentityHashMap<Room, Integer> numbers = new IdentityHashMap<>();
+        ArrayList<Room> list = new ArrayList<>(allRooms.size() + 1);
+        ArrayDeque<Room> pending = new ArrayDeque<>();
+        pending.add(start);
+        pending.addAll(allRooms);
+        while (!pending.isEmpty()) {
+            Room room = pending.poll();
+            if (numbers.putIfAbsent(room, list.size()) == null) {
+                list.add(room);
+                pending.addAll(room.getNeighbors());
+            }
+        }
+        this.rooms = list.toArray(new Room[0]);
+        this.start = numbers.get(start);
+
+        int n = rooms.length;
+        this.deadly = new boolean[n];
+        this.guarded = new boolean[n];
+
+        // Exit counts first (in parallel), then positions, then exits (in parallel)
+        int[] counts = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            counts[i] = rooms[i].getExitDirections().size();
+            deadly[i] = hasLiveAnimal(rooms[i], DEADLY_ANIMAL);
+            guarded[i] = hasLiveAnimal(rooms[i], GUARD_ANIMAL);
+        });
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + counts[i];
+        }
+        this.targets = new int[offsets[n]];
+        this.directions = new String[offsets[n]];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int position = offsets[i];
+            for (String direction : rooms[i].getExitDirections()) {
+                directions[position] = direction;
+                targets[position] = numbers.get(rooms[i].getExit(direction));
+                position++;
+            }
+        });
+    }
+
+    /**
+     * Runs all checks in parallel
+     * @param treasureName Item the player must find (e.g., "gold")
+     * @param winRoomName Room where the player wins with it (e.g., "Beach")
+     * @return Report with all the problems found
+     */
+    public ValidationReport validate(String treasureName, String winRoomName) {
+        int winRoom = findRoom(winRoomName);
+
+        CompletableFuture<boolean[]> reached = CompletableFuture.supplyAsync(
+                () -> search(offsets, targets, start, deadly));
+        CompletableFuture<boolean[]> reachesWin = CompletableFuture.supplyAsync(
+                () -> winRoom < 0 ? new boolean[rooms.length] : findRoomsReachingWin(winRoom));
+        CompletableFuture<List<String>> oneWay = CompletableFuture.supplyAsync(this::findOneWayExits);
+        CompletableFuture<Integer> components = CompletableFuture.supplyAsync(this::countComponents);
+        CompletableFuture<Winnability> winnability = CompletableFuture.supplyAsync(
+                () -> checkWinnable(treasureName, winRoom, winRoomName));
+
+        boolean[] fromStart = reached.join();
+        boolean[] toWin = reachesWin.join();
+        List<String> unreachable = new ArrayList<>();
+        List<String> traps = new ArrayList<>();
+        for (int i = 0; i < rooms.length; i++) {
+            if (deadly[i] && i != start) {
+                continue;
+            }
+            if (!fromStart[i]) {
+                unreachable.add(rooms[i].getName());
+            } else if (winRoom >= 0 && !toWin[i]) {
+                traps.add(rooms[i].getName());
+            }
+        }
+
+        Winnability result = winnability.join();
+        return new ValidationReport(rooms.length, unreachable, traps, oneWay.join(),
+                result.lockedRooms, components.join(), result.problem);
+    }
+
+    /**
+     * Result of the winnability check
+     */
+    private static final class Winnability {
+        private final String problem;               // null if winnable
+        private final List<String> lockedRooms;     // Guarded rooms with items, no knife
+
+        Winnability(String problem, List<String> lockedRooms) {
+            this.problem = problem;
+            this.lockedRooms = lockedRooms;
+        }
+    }
+
+    /**
+     * Plays the map following the rules:
+     * 1. Walk without entering deadly or guarded rooms
+     * 2. If a knife was found, guarded rooms can be entered too
+     * 3. The treasure must be found, and the win room reached from it
+     */
+    private Winnability checkWinnable(String treasureName, int winRoom, String winRoomName) {
+        int n = rooms.length;
+        boolean[] blocked = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            blocked[i] = deadly[i] || guarded[i];
+        }
+        boolean[] withoutKnife = search(offsets, targets, start, blocked);
+
+        boolean knifeFound = false;
+        for (int i = 0; i < n && !knifeFound; i++) {
+            knifeFound = withoutKnife[i] && hasItem(rooms[i], GUARD_WEAPON);
+        }
+
+        List<String> locked = new ArrayList<>();
+        boolean[] explored = withoutKnife;
+        if (knifeFound) {
+            for (int i = 0; i < n; i++) {
+                blocked[i] = deadly[i];
+            }
+            explored = search(offsets, targets, start, blocked);
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (guarded[i] && !rooms[i].getItems().isEmpty()) {
+                    locked.add(rooms[i].getName());
+                }
+            }
+        }
+
+        if (winRoom < 0) {
+            return new Winnability("there is no room called " + winRoomName, locked);
+        }
+
+        // All treasure rooms the player can get to
+        ArrayDeque<Integer> treasureRooms = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (explored[i] && hasItem(rooms[i], treasureName)) {
+                treasureRooms.add(i);
+            }
+        }
+        if (treasureRooms.isEmpty()) {
+            return new Winnability("the " + treasureName + " can't be reached", locked);
+        }
+
+        // From any of them, the win room must be reachable
+        boolean[] back = search(offsets, targets, treasureRooms, blocked);
+        if (!back[winRoom]) {
+            return new Winnability("no way from the " + treasureName + " to " + winRoomName, locked);
+        }
+        return new Winnability(null, locked);
+    }
+
+    /**
+     * Lists exits whose destination has no exit back
+     */
+    private List<String> findOneWayExits() {
+        return IntStream.range(0, rooms.length).parallel()
+                .mapToObj(this::oneWayExitsOf)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> oneWayExitsOf(int room) {
+        List<String> found = new ArrayList<>(0);
+        for (int e = offsets[room]; e < offsets[room + 1]; e++) {
+            int neighbor = targets[e];
+            boolean wayBack = false;
+            for (int b = offsets[neighbor]; b < offsets[neighbor + 1] && !wayBack; b++) {
+                wayBack = targets[b] == room;
+            }
+            if (!wayBack) {
+                found.add(rooms[room].getName() + " -" + directions[e] + "-> " + rooms[neighbor].getName());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the rooms from which the win room can be reached alive
+     * The start room is special: the player is already in it, so it
+     * counts even if it is deadly, as long as one of its exits leads on
+     */
+    private boolean[] findRoomsReachingWin(int winRoom) {
+        boolean[] reaches = searchBackwards(winRoom, deadly);
+        if (deadly[start] && start != winRoom) {
+            for (int e = offsets[start]; e < offsets[start + 1]; e++) {
+                if (reaches[targets[e]]) {
+                    reaches[start] = true;
+                }
+            }
+        }
+        return reaches;
+    }
+
+    /**
+     * Finds the rooms that can reach a room (following the exits backwards)
+     * @param blocked Rooms that can't be walked through (null = none)
+     */
+    private boolean[] searchBackwards(int room, boolean[] blocked) {
+        int n = rooms.length;
+        int[] reverseOffsets = new int[n + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+        int[] reverseTargets = new int[targets.length];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                reverseTargets[next[targets[e]]++] = i;
+            }
+        }
+        return search(reverseOffsets, reverseTargets, room, blocked);
+    }
+
+    /**
+     * Breadth-first search from one room
+     */
+    private static boolean[] search(int[] offsets, int[] targets, int from, boolean[] blocked) {
+        ArrayDeque<Integer> sources = new ArrayDeque<>();
+        sources.add(from);
+        return search(offsets, targets, sources, blocked);
+    }
+
+    /**
+     * Breadth-first search from several rooms
+     * @param blocked Rooms that can't be entered (null = none)
+     * @return Which rooms were reached
+     */
+    private static boolean[] search(int[] offsets, int[] targets, ArrayDeque<Integer> sources,
+                                    boolean[] blocked) {
+        int n = offsets.length - 1;
+        boolean[] seen = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int source : sources) {
+            if (!seen[source]) {
+                seen[source] = true;
+                queue[tail++] = source;
+            }
+        }
+        while (head < tail) {
+            int room = queue[head++];
+            for (int e = offsets[room]; e < offsets[room + 1]; e++) {
+                int next = targets[e];
+                if (!seen[next] && (blocked == null || !blocked[next])) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Counts strongly connected components (Tarjan, without recursion
+     * so huge maps don't overflow the stack)
+     */
+    private int countComponents() {
+        int n = rooms.length;
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int[] callRoom = new int[n];
+        int[] callExit = new int[n];
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callRoom[0] = root;
+            callExit[0] = offsets[root];
+            index[root] = counter;
+            low[root] = counter;
+            counter++;
+            stack[top++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int room = callRoom[depth];
+                if (callExit[depth] < offsets[room + 1]) {
+                    int next = targets[callExit[depth]++];
+                    if (index[next] == -1) {
+                        // Visits the neighbor (like a recursive call)
+                        index[next] = counter;
+                        low[next] = counter;
+                        counter++;
+                        stack[top++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callRoom[depth] = next;
+                        callExit[depth] = offsets[next];
+                    } else if (onStack[next]) {
+                        low[room] = Math.min(low[room], index[next]);
+                    }
+                } else {
+                    // All exits done: closes a component if this room is its root
+                    if (low[room] == index[room]) {
+                        int member;
+                        do {
+                            member = stack[--top];
+                            onStack[member] = false;
+                        } while (member != room);
+                        components++;
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callRoom[depth];
+                        low[parent] = Math.min(low[parent], low[room]);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Returns the number of a room by name, or -1
+     */
+    private int findRoom(String name) {
+        for (int i = 0; i < rooms.length; i++) {
+            if (rooms[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasLiveAnimal(Room room, String animalName) {
+        Animal animal = room.getAnimal(animalName);
+        return animal != null && animal.isAlive();
+    }
+
+    private static boolean hasItem(Room room, String itemName) {
+        List<Item> items = room.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getName().equalsIgnoreCase(itemName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
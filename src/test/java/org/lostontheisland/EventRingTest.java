@@ -0,0 +1,111 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * EVENT RING TEST - Checks what spectators see when the ring wraps around
+ *
+ * Everything runs on one thread: the test decides exactly when
+ * the game publishes and when each spectator reads.
+ */
+class EventRingTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new EventRing(5).getCapacity());
+        assertEquals(8, new EventRing(8).getCapacity());
+    }
+
+    @Test
+    void spectatorThatKeepsUpLosesNothing() {
+        EventRing ring = new EventRing(4);
+        Spectator spectator = ring.subscribe();
+        for (int i = 0; i < 10; i++) {
+            publish(ring, i);
+            assertEquals(i, spectator.poll().getSequence());
+        }
+        assertNull(spectator.poll());
+        assertEquals(0, spectator.getDropped());
+    }
+
+    @Test
+    void lappedSpectatorSkipsToTheOldestEventKept() {
+        EventRing ring = new EventRing(4);
+        Spectator slow = ring.subscribe();
+        for (int i = 0; i < 10; i++) {
+            publish(ring, i);
+        }
+
+        // Events 0..5 were overwritten: 6..9 are still in the ring
+        assertEquals(6, slow.poll().getSequence());
+        assertEquals(6, slow.getDropped());
+        assertEquals(7, slow.poll().getSequence());
+        assertEquals(8, slow.poll().getSequence());
+        assertEquals(9, slow.poll().getSequence());
+        assertNull(slow.poll());
+        assertEquals(6, slow.getDropped());
+    }
+
+    @Test
+    void droppedEventsAddUpOverSeveralLaps() {
+        EventRing ring = new EventRing(4);
+        Spectator slow = ring.subscribe();
+
+        publish(ring, 0);
+        publish(ring, 1);
+        assertEquals("room 0", slow.poll().getDetail());   // Reads one, one left
+
+        for (int i = 2; i < 9; i++) {
+            publish(ring, i);
+        }
+        // 1..8 were written, only 5..8 are kept: 1..4 are lost
+        assertEquals(5, slow.poll().getSequence());
+        assertEquals(4, slow.getDropped());
+
+        for (int i = 9; i < 20; i++) {
+            publish(ring, i);
+        }
+        // 6..19 were waiting, only 16..19 are kept: 10 more are lost
+        assertEquals(16, slow.poll().getSequence());
+        assertEquals(14, slow.getDropped());
+    }
+
+    @Test
+    void lateSpectatorSeesOnlyNewEvents() {
+        EventRing ring = new EventRing(4);
+        Spectator early = ring.subscribe();
+        publish(ring, 0);
+        publish(ring, 1);
+
+        Spectator late = ring.subscribe();
+        assertNull(late.poll());
+        publish(ring, 2);
+
+        assertEquals(2, late.poll().getSequence());
+        assertNull(late.poll());
+        assertEquals(0, late.getDropped());
+        // The early spectator still gets everything
+        assertEquals(0, early.poll().getSequence());
+        assertEquals(1, early.poll().getSequence());
+        assertEquals(2, early.poll().getSequence());
+    }
+
+    @Test
+    void eventsKeepTheirContent() {
+        EventRing ring = new EventRing(4);
+        Spectator spectator = ring.subscribe();
+        ring.publish(GameEvent.Type.ITEM_TAKEN, "Ana", "knife");
+
+        GameEvent event = spectator.poll();
+        assertEquals(GameEvent.Type.ITEM_TAKEN, event.getType());
+        assertEquals("Ana", event.getPlayerName());
+        assertEquals("knife", event.getDetail());
+        assertEquals(1, ring.getPublished());
+    }
+
+    private static void publish(EventRing ring, int number) {
+        ring.publish(GameEvent.Type.ROOM_ENTERED, "Ana", "room " + number);
+    }
+}
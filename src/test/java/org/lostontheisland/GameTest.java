@@ -0,0 +1,82 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * GAME TEST - Checks lines with several commands separated by ';'
+ */
+class GameTest {
+    private static final String TO_THE_GOLD =
+            "go north; go north; take knife; go west; use knife; take gold";
+
+    @Test
+    void deathStopsTheLine() {
+        Game game = new Game("Ana");
+        String output = run(game, "go north; go south; status; go north");
+
+        assertTrue(output.contains(Messages.SHARK_ATTACK.toString()), output);
+        assertTrue(output.contains("GAME OVER"), output);
+        assertFalse(output.contains("=== Status ==="), output);
+        assertEquals(ScoreRecord.Outcome.DIED, game.getResult().getOutcome());
+        assertEquals(2, game.getResult().getTurns());
+    }
+
+    @Test
+    void victoryStopsTheLine() {
+        Game game = new Game("Ana");
+        String output = run(game, TO_THE_GOLD + "; go east; go south; status; drop knife");
+
+        assertTrue(output.contains("YOU WON THE GAME!"), output);
+        assertFalse(output.contains("=== Status ==="), output);
+        assertFalse(output.contains("You dropped"), output);
+        assertEquals(ScoreRecord.Outcome.WON, game.getResult().getOutcome());
+        assertEquals(8, game.getResult().getTurns());
+    }
+
+    @Test
+    void trailingSeparatorAddsNothing() {
+        Game game = new Game("Ana");
+        String output = run(game, "status;");
+
+        assertEquals(run(new Game("Ana"), "status"), output);
+        assertEquals(1, game.getResult().getTurns());
+    }
+
+    @Test
+    void emptySegmentIsAnUnknownCommand() {
+        Game game = new Game("Ana");
+        String output = run(game, "status; ;status");
+
+        assertEquals(1, count(output, Messages.UNKNOWN_COMMAND.toString()));
+        assertEquals(2, count(output, "=== Status ==="));
+        assertEquals(3, game.getResult().getTurns());
+    }
+
+    @Test
+    void finishedGameIgnoresMoreLines() {
+        Game game = new Game("Ana");
+        run(game, "quit");
+        int turns = game.getResult().getTurns();
+
+        assertEquals("", run(game, "status; go north"));
+        assertEquals(0, game.runCommands("help").length);
+        assertEquals(turns, game.getResult().getTurns());
+        assertEquals(WorldTemplate.island().getStart(), game.getCurrentRoom());
+    }
+
+    private static String run(Game game, String line) {
+        return new String(game.runCommands(line), StandardCharsets.UTF_8);
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int at = text.indexOf(part); at >= 0; at = text.indexOf(part, at + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,97 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * HIGH SCORES TEST - Checks that scores survive a restart
+ * and that compaction keeps only the records worth keeping
+ */
+class HighScoresTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    void reloadGivesTheSameRanking() {
+        Path file = folder.resolve("scores.txt");
+        try (HighScores scores = new HighScores(file)) {
+            scores.record(record("Ana", 20, ScoreRecord.Outcome.WON));
+            scores.record(record("Bo", 5, ScoreRecord.Outcome.DIED));
+            scores.record(record("Ana", 12, ScoreRecord.Outcome.WON));
+        }
+
+        try (HighScores loaded = new HighScores(file)) {
+            assertEquals(3, loaded.size());
+            assertEquals(List.of("Ana;12;50;50;WON", "Ana;20;50;50;WON", "Bo;5;50;50;DIED"),
+                    lines(loaded.topK(10)));
+            assertEquals(12, loaded.bestOf("Ana").getTurns());
+            assertEquals(5, loaded.bestOf("Bo").getTurns());
+            assertNull(loaded.bestOf("Cy"));
+        }
+    }
+
+    @Test
+    void brokenLinesAreSkippedAndRemoved() throws IOException {
+        Path file = folder.resolve("scores.txt");
+        Files.write(file, List.of("Ana;12;50;50;WON", "Bo;5;5"), StandardCharsets.UTF_8);
+
+        try (HighScores loaded = new HighScores(file)) {
+            assertEquals(1, loaded.size());
+        }
+        assertEquals(List.of("Ana;12;50;50;WON"), Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void compactionKeepsTheTopAndEachPlayersBest() throws IOException {
+        Path file = folder.resolve("scores.txt");
+        try (HighScores scores = new HighScores(file, 2)) {
+            // Three records: the file is still small, nothing is dropped
+            scores.record(record("Ana", 10, ScoreRecord.Outcome.WON));
+            scores.record(record("Ana", 11, ScoreRecord.Outcome.WON));
+            scores.record(record("Bo", 30, ScoreRecord.Outcome.DIED));
+            assertEquals(3, scores.size());
+
+            // Fourth line: the file has 2 * 2 lines, so it is compacted
+            scores.record(record("Ana", 40, ScoreRecord.Outcome.QUIT));
+            assertEquals(List.of("Ana;10;50;50;WON", "Ana;11;50;50;WON", "Bo;30;50;50;DIED"),
+                    lines(scores.topK(10)));
+        }
+        assertEquals(List.of("Ana;10;50;50;WON", "Ana;11;50;50;WON", "Bo;30;50;50;DIED"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fileStaysSmallWhileRecordsKeepComing() throws IOException {
+        Path file = folder.resolve("scores.txt");
+        try (HighScores scores = new HighScores(file, 5)) {
+            for (int i = 0; i < 1_000; i++) {
+                scores.record(record("Ana", 100 + i % 50, ScoreRecord.Outcome.WON));
+            }
+            assertEquals(100, scores.bestOf("Ana").getTurns());
+        }
+        int lines = Files.readAllLines(file, StandardCharsets.UTF_8).size();
+        // At most twice what a compaction keeps
+        assertTrue(lines < 2 * 5, "lines in file: " + lines);
+
+        try (HighScores loaded = new HighScores(file, 5)) {
+            assertEquals(100, loaded.bestOf("Ana").getTurns());
+            assertEquals(lines, loaded.size());
+        }
+    }
+
+    private static ScoreRecord record(String name, int turns, ScoreRecord.Outcome outcome) {
+        return new ScoreRecord(name, turns, 50, 50, outcome);
+    }
+
+    private static List<String> lines(List<ScoreRecord> records) {
+        return records.stream().map(ScoreRecord::toLine).toList();
+    }
+}
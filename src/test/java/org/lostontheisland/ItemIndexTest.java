@@ -0,0 +1,126 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ITEM INDEX TEST - Checks the counts kept by ItemIndex and the rooms
+ */
+class ItemIndexTest {
+
+    @Test
+    void countsItemsPerRoomAndInTotal() {
+        ItemIndex index = new ItemIndex();
+        index.itemAdded("Beach", "fruit");
+        index.itemAdded("Beach", "fruit");
+        index.itemAdded("Jungle", "fruit");
+
+        assertEquals(3, index.countItem("fruit"));
+        assertEquals(2, index.countItemIn("Beach", "fruit"));
+        assertEquals(Set.of("Beach", "Jungle"), index.roomsWithItem("fruit"));
+        assertEquals(0, index.countItem("gold"));
+        assertTrue(index.roomsWithItem("gold").isEmpty());
+    }
+
+    @Test
+    void roomsWithNothingLeftAreNotListed() {
+        ItemIndex index = new ItemIndex();
+        index.itemAdded("Beach", "fruit");
+        index.itemAdded("Jungle", "fruit");
+        index.itemRemoved("Beach", "fruit");
+
+        assertEquals(1, index.countItem("fruit"));
+        assertEquals(0, index.countItemIn("Beach", "fruit"));
+        assertEquals(Set.of("Jungle"), index.roomsWithItem("fruit"));
+
+        // Coming back uses the same counts again
+        index.itemAdded("Beach", "fruit");
+        assertEquals(Set.of("Beach", "Jungle"), index.roomsWithItem("fruit"));
+        assertEquals(2, index.countItem("fruit"));
+    }
+
+    @Test
+    void onlyRoomsThatStillHaveTheItemAreWalked() {
+        ItemIndex index = new ItemIndex();
+        for (int i = 0; i < 10_000; i++) {
+            index.itemAdded("Room " + i, "fish");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            if (i != 1234) {
+                index.itemRemoved("Room " + i, "fish");
+            }
+        }
+
+        Set<String> rooms = index.roomsWithItem("fish");
+        assertEquals(1, rooms.size());
+        assertEquals("Room 1234", rooms.iterator().next());
+        assertTrue(rooms.contains("Room 1234"));
+        assertFalse(rooms.contains("Room 1"));
+    }
+
+    @Test
+    void roomsAreAReadOnlyViewOfTheIndex() {
+        ItemIndex index = new ItemIndex();
+        index.itemAdded("Beach", "fruit");
+        Set<String> rooms = index.roomsWithItem("fruit");
+
+        index.itemAdded("Jungle", "fruit");
+        assertEquals(Set.of("Beach", "Jungle"), rooms);
+        index.itemRemoved("Beach", "fruit");
+        assertEquals(Set.of("Jungle"), rooms);
+        assertThrows(UnsupportedOperationException.class, () -> rooms.add("Cave"));
+        assertThrows(UnsupportedOperationException.class, () -> rooms.iterator().remove());
+    }
+
+    @Test
+    void roomKeepsItsIndexUpToDate() {
+        ItemIndex index = new ItemIndex();
+        Room beach = new Room("Beach", "Sand");
+        beach.addItem(new Item("fruit", "A juicy fruit", true));
+        beach.attachIndex(index);
+        assertEquals(1, index.countItemIn("Beach", "fruit"));
+
+        beach.addItem(new Item("bottle", "An empty bottle", true));
+        beach.removeItem("fruit");
+        assertEquals(0, index.countItem("fruit"));
+        assertEquals(1, index.countItem("bottle"));
+    }
+
+    @Test
+    void killedAnimalsLeaveTheIndex() {
+        ItemIndex index = new ItemIndex();
+        Room jungle = new Room("Jungle", "Trees");
+        Animal fish = new Animal("fish", "A fish you can catch", 0);
+        jungle.addAnimal(fish);
+        jungle.addAnimal(new Animal("fish", "Another fish", 0));
+        jungle.attachIndex(index);
+        assertEquals(2, index.countAnimal("fish"));
+
+        fish.kill();
+        assertEquals(1, index.countAnimalIn("Jungle", "fish"));
+        assertEquals(Set.of("Jungle"), index.roomsWithAnimal("fish"));
+    }
+
+    @Test
+    void attachingTheSameIndexTwiceCountsOnce() {
+        ItemIndex index = new ItemIndex();
+        Room beach = new Room("Beach", "Sand");
+        beach.addItem(new Item("fruit", "A juicy fruit", true));
+        beach.attachIndex(index);
+        beach.attachIndex(index);
+
+        assertEquals(1, index.countItem("fruit"));
+    }
+
+    @Test
+    void roomCanBeInOnlyOneIndex() {
+        Room beach = new Room("Beach", "Sand");
+        beach.attachIndex(new ItemIndex());
+
+        assertThrows(IllegalStateException.class, () -> beach.attachIndex(new ItemIndex()));
+    }
+}
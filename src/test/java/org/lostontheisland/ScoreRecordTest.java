@@ -0,0 +1,56 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SCORE RECORD TEST - Checks the file format and the order of records
+ */
+class ScoreRecordTest {
+
+    @Test
+    void lineGivesBackTheSameRecord() {
+        ScoreRecord record = new ScoreRecord("Ana", 12, 40, 55, ScoreRecord.Outcome.WON);
+        ScoreRecord loaded = ScoreRecord.fromLine(record.toLine());
+
+        assertEquals("Ana", loaded.getPlayerName());
+        assertEquals(12, loaded.getTurns());
+        assertEquals(40, loaded.getWaterLevel());
+        assertEquals(55, loaded.getFoodLevel());
+        assertEquals(ScoreRecord.Outcome.WON, loaded.getOutcome());
+    }
+
+    @Test
+    void separatorsInTheNameCantBreakTheLine() {
+        ScoreRecord record = new ScoreRecord("a;b\nc", 3, 10, 20, ScoreRecord.Outcome.QUIT);
+        ScoreRecord loaded = ScoreRecord.fromLine(record.toLine());
+
+        assertEquals("a_b_c", loaded.getPlayerName());
+        assertEquals(ScoreRecord.Outcome.QUIT, loaded.getOutcome());
+    }
+
+    @Test
+    void brokenLinesAreRejected() {
+        assertNull(ScoreRecord.fromLine(""));
+        assertNull(ScoreRecord.fromLine("Ana;12;40;55"));             // Cut in the middle
+        assertNull(ScoreRecord.fromLine("Ana;twelve;40;55;WON"));
+        assertNull(ScoreRecord.fromLine("Ana;12;40;55;FLEW"));
+    }
+
+    @Test
+    void betterRecordsComeFirst() {
+        ScoreRecord wonSlowly = new ScoreRecord("a", 30, 10, 10, ScoreRecord.Outcome.WON);
+        ScoreRecord wonFast = new ScoreRecord("b", 10, 10, 10, ScoreRecord.Outcome.WON);
+        ScoreRecord wonFastRested = new ScoreRecord("c", 10, 50, 50, ScoreRecord.Outcome.WON);
+        ScoreRecord died = new ScoreRecord("d", 2, 90, 90, ScoreRecord.Outcome.DIED);
+        ScoreRecord quit = new ScoreRecord("e", 1, 95, 95, ScoreRecord.Outcome.QUIT);
+
+        assertTrue(wonFast.compareTo(wonSlowly) < 0);
+        assertTrue(wonFastRested.compareTo(wonFast) < 0);
+        assertTrue(wonSlowly.compareTo(died) < 0);
+        assertTrue(died.compareTo(quit) < 0);
+        assertEquals(0, wonFast.compareTo(new ScoreRecord("x", 10, 15, 5, ScoreRecord.Outcome.WON)));
+    }
+}
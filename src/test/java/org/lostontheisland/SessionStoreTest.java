@@ -0,0 +1,117 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SESSION STORE TEST - Checks that a game comes back the same after hibernating
+ *
+ * Every check runs twice: with games kept off-heap and in local files.
+ */
+class SessionStoreTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    void offHeapGameComesBackTheSame() {
+        checkRoundTrip(new SessionStore());
+    }
+
+    @Test
+    void fileGameComesBackTheSame() {
+        checkRoundTrip(new SessionStore(folder));
+    }
+
+    @Test
+    void offHeapGameIsRevivedOnlyOnce() throws Exception {
+        checkRevivedOnce(new SessionStore());
+    }
+
+    @Test
+    void fileGameIsRevivedOnlyOnce() throws Exception {
+        checkRevivedOnce(new SessionStore(folder));
+    }
+
+    @Test
+    void brokenFileIsKeptForLater() throws IOException {
+        SessionStore store = new SessionStore(folder);
+        store.hibernate("ana", new Game("Ana"));
+        Path file;
+        try (var files = Files.list(folder)) {
+            file = files.findFirst().orElseThrow();
+        }
+        Files.write(file, new byte[] {1, 2, 3});
+
+        assertThrows(UncheckedIOException.class, () -> store.revive("ana"));
+        assertTrue(store.isHibernated("ana"));
+    }
+
+    /**
+     * Hibernates a game that changed the map and has a spectator, then revives it
+     */
+    private static void checkRoundTrip(SessionStore store) {
+        WorldTemplate island = WorldTemplate.island();
+        Game game = new Game("Ana");
+        Spectator spectator = game.getEvents().subscribe();
+        game.runCommands("go north; go north; take knife");
+        assertEquals(3, drain(spectator));
+
+        store.hibernate("ana", game);
+        assertTrue(store.isHibernated("ana"));
+        Game revived = store.revive("ana");
+        assertFalse(store.isHibernated("ana"));
+
+        // Rooms are the shared template rooms, not copies
+        assertSame(island.getRoom("Jungle"), revived.getCurrentRoom());
+        // The changes this game made are still there, and only there
+        assertEquals(0, revived.getWorld().countItem("knife"));
+        assertEquals(1, island.getIndex().countItem("knife"));
+        assertTrue(new String(revived.runCommands("inventory")).contains("knife"));
+        // The spectator keeps watching the same ring
+        assertSame(game.peekEvents(), revived.peekEvents());
+        revived.runCommands("go west");
+        assertEquals(1, drain(spectator));
+        assertEquals(0, spectator.getDropped());
+    }
+
+    /**
+     * Two threads revive the same game: only one of them gets it
+     */
+    private static void checkRevivedOnce(SessionStore store) throws Exception {
+        store.hibernate("ana", new Game("Ana"));
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Game> revive = () -> store.revive("ana");
+            Future<Game> first = threads.submit(revive);
+            Future<Game> second = threads.submit(revive);
+            Game a = first.get();
+            Game b = second.get();
+            assertTrue(a == null ^ b == null, "exactly one revive must get the game");
+        } finally {
+            threads.shutdown();
+        }
+        assertNull(store.revive("ana"));
+    }
+
+    private static int drain(Spectator spectator) {
+        int count = 0;
+        while (spectator.poll() != null) {
+            count++;
+        }
+        return count;
+    }
+}
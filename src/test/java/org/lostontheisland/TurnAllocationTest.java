@@ -0,0 +1,97 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TURN ALLOCATION TEST - Checks that turns don't create garbage
+ *
+ * For each kind of turn:
+ * - A game is prepared with some commands (not measured)
+ * - One more command is run, counting the bytes this thread allocates
+ * - This is repeated many times, after a warm-up so the JIT is done
+ *
+ * The build fails if the average of any kind of turn goes over its budget.
+ */
+class TurnAllocationTest {
+    private static final int WARM_UP = 20_000;     // Rounds before measuring
+    private static final int ROUNDS = 2_000;       // Measured rounds
+
+    /**
+     * One kind of turn
+     * @param name Shown in the report
+     * @param setup Commands run before, not measured
+     * @param command Measured command
+     * @param budget Bytes allowed per turn, on average
+     */
+    private record Turn(String name, String setup, String command, long budget) {
+    }
+
+    // Budgets are 0: a steady-state turn must not allocate at all.
+    // Only the first change to a room may allocate: it copies the room's items
+    // (copy-on-write) and adds them to the game's index, once per room and game.
+    private static final long FIRST_ROOM_CHANGE = 512;
+
+    private static final Turn[] TURNS = {
+        new Turn("go", "status", "go north", 0),
+        new Turn("take", "go north; take fruit; drop fruit", "take fruit", 0),
+        new Turn("drop", "go north; take fruit", "drop fruit", 0),
+        new Turn("inventory", "go north; take fruit", "inventory", 0),
+        new Turn("status", "status", "status", 0),
+        new Turn("inspect", "go north", "inspect", 0),
+        new Turn("eat", "go north; take fruit", "eat fruit", 0),
+        new Turn("drink", "go north; take bottle; use bottle", "drink", 0),
+        new Turn("use", "go north; take bottle", "use bottle", 0),
+        new Turn("help", "status", "help", 0),
+        new Turn("unknown", "status", "dance", 0),
+        new Turn("several", "go north; take fruit; drop fruit", "take fruit; drop fruit; status", 0),
+        new Turn("catch", "go north; go north; take knife", "catch fish", 0),
+        new Turn("use knife", "go north; go north; take knife; go west", "use knife", 0),
+        new Turn("take gold", "go north; go north; take knife; go west; use knife", "take gold",
+                FIRST_ROOM_CHANGE),
+    };
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Test
+    void everyTurnStaysWithinItsBudget() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM can't count allocations");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (Turn turn : TURNS) {
+            measure(turn, WARM_UP);
+        }
+
+        StringBuilder failures = new StringBuilder();
+        for (Turn turn : TURNS) {
+            long average = measure(turn, ROUNDS);
+            if (average > turn.budget()) {
+                failures.append("\n  ").append(turn.name()).append(": ").append(average)
+                        .append(" bytes per turn (budget ").append(turn.budget()).append(")");
+            }
+        }
+        assertTrue(failures.length() == 0, "Turns over their allocation budget:" + failures);
+    }
+
+    /**
+     * Runs a kind of turn many times
+     * @return Average bytes allocated by the measured command
+     */
+    private long measure(Turn turn, int rounds) {
+        long total = 0;
+        for (int i = 0; i < rounds; i++) {
+            Game game = new Game("bench");
+            game.runCommands(turn.setup(), discard);
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            game.runCommands(turn.command(), discard);
+            total += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        return total / rounds;
+    }
+}
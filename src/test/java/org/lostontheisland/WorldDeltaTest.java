@@ -0,0 +1,159 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WORLD DELTA TEST - Checks that each game sees its own changes
+ * and that the shared template never changes
+ *
+ * Uses a small template: a Beach with fruit and a Pond with two fish.
+ */
+class WorldDeltaTest {
+    private WorldTemplate template;
+    private Room beach;
+    private Room pond;
+    private Animal firstFish;
+    private Animal secondFish;
+
+    @BeforeEach
+    void createTemplate() {
+        beach = new Room("Beach", "Sand");
+        pond = new Room("Pond", "Water");
+        beach.setExit("east", pond);
+        pond.setExit("west", beach);
+        beach.addItem(new Item("fruit", "A juicy fruit", true));
+        firstFish = new Animal("fish", "A fish", 0);
+        secondFish = new Animal("fish", "Another fish", 0);
+        pond.addAnimal(firstFish);
+        pond.addAnimal(secondFish);
+        template = new WorldTemplate(beach);
+    }
+
+    @Test
+    void addedItemsAreCountedOnlyInThisGame() {
+        WorldDelta game = new WorldDelta(template);
+        WorldDelta other = new WorldDelta(template);
+        game.addItem(pond, new Item("fruit", "A juicy fruit", true));
+
+        assertEquals(2, game.countItem("fruit"));
+        assertEquals(Set.of("Beach", "Pond"), game.roomsWithItem("fruit"));
+        assertEquals(1, other.countItem("fruit"));
+        assertEquals(1, template.getIndex().countItem("fruit"));
+    }
+
+    @Test
+    void removedItemsStayInTheTemplate() {
+        WorldDelta game = new WorldDelta(template);
+        Item fruit = game.removeItem(beach, "fruit");
+
+        assertEquals("fruit", fruit.getName());
+        assertEquals(0, game.countItem("fruit"));
+        assertTrue(game.roomsWithItem("fruit").isEmpty());
+        assertTrue(game.getItems(beach).isEmpty());
+        assertEquals(1, beach.getItems().size());
+        assertEquals(1, new WorldDelta(template).countItem("fruit"));
+    }
+
+    @Test
+    void moveBetweenChangedRoomsKeepsTheTotal() {
+        WorldDelta game = new WorldDelta(template);
+        game.addItem(pond, game.removeItem(beach, "fruit"));
+
+        assertEquals(1, game.countItem("fruit"));
+        assertEquals(Set.of("Pond"), game.roomsWithItem("fruit"));
+    }
+
+    @Test
+    void roomsAreCopiedOnlyWhenTheyChange() {
+        WorldDelta game = new WorldDelta(template);
+        assertSame(beach.getItems(), game.getItems(beach));
+
+        // Nothing removed: nothing copied
+        assertNull(game.removeItem(beach, "gold"));
+        assertEquals(0, game.getChangedRoomCount());
+
+        game.removeItem(beach, "fruit");
+        assertEquals(1, game.getChangedRoomCount());
+        assertSame(pond.getItems(), game.getItems(pond));
+    }
+
+    @Test
+    void itemListsAreReadOnly() {
+        WorldDelta game = new WorldDelta(template);
+        assertThrows(UnsupportedOperationException.class, () -> game.getItems(beach).clear());
+
+        game.addItem(beach, new Item("bottle", "An empty bottle", true));
+        assertThrows(UnsupportedOperationException.class, () -> game.getItems(beach).clear());
+    }
+
+    @Test
+    void killingOneOfTwoSameNamedAnimals() {
+        WorldDelta game = new WorldDelta(template);
+        game.kill(pond, firstFish);
+        game.kill(pond, firstFish);     // Killing twice changes nothing
+
+        assertFalse(game.isAlive(pond, firstFish));
+        assertTrue(game.isAlive(pond, secondFish));
+        assertSame(secondFish, game.getLiveAnimal(pond, "fish"));
+        assertEquals(1, game.countAnimal("fish"));
+        assertEquals(Set.of("Pond"), game.roomsWithAnimal("fish"));
+
+        game.kill(pond, secondFish);
+        assertNull(game.getLiveAnimal(pond, "fish"));
+        assertEquals(0, game.countAnimal("fish"));
+        assertTrue(game.roomsWithAnimal("fish").isEmpty());
+
+        // Other games and the template still have both
+        assertEquals(2, new WorldDelta(template).countAnimal("fish"));
+        assertTrue(firstFish.isAlive());
+    }
+
+    @Test
+    void animalIsOnlyAliveInItsOwnRoom() {
+        WorldDelta game = new WorldDelta(template);
+        assertFalse(game.isAlive(beach, firstFish));
+
+        // Also once the room has kills of its own
+        Room jungle = WorldTemplate.island().getRoom("Jungle");
+        Animal bear = WorldTemplate.island().getRoom("Cave").getAnimals().get(0);
+        WorldDelta onIsland = new WorldDelta();
+        onIsland.kill(jungle, onIsland.getLiveAnimal(jungle, "fish"));
+        assertFalse(onIsland.isAlive(jungle, bear));
+        assertThrows(IllegalArgumentException.class, () -> onIsland.kill(jungle, bear));
+    }
+
+    @Test
+    void savedDeltaKeepsItsChanges() throws Exception {
+        WorldTemplate island = WorldTemplate.island();
+        Room jungle = island.getRoom("Jungle");
+        WorldDelta game = new WorldDelta();
+        game.removeItem(jungle, "knife");
+        game.kill(jungle, game.getLiveAnimal(jungle, "fish"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        WorldDelta loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (WorldDelta) in.readObject();
+        }
+
+        assertEquals(0, loaded.countItem("knife"));
+        assertEquals(island.getIndex().countItem("woodstick"), loaded.countItem("woodstick"));
+        assertEquals(0, loaded.countAnimal("fish"));
+        assertNull(loaded.getLiveAnimal(jungle, "fish"));
+    }
+}
@@ -0,0 +1,178 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WORLD TEST - Checks games playing together on a sharded island
+ *
+ * The island is split in two shards:
+ * - Shard 0: Sea and Beach
+ * - Shard 1: Jungle, Cave and Mountain
+ * so walking north from the Beach always crosses to the other shard.
+ */
+class WorldTest {
+    private static final String TO_THE_GOLD =
+            "go north; go north; take knife; go west; use knife; take gold";
+
+    private final WorldTemplate island = WorldTemplate.island();
+    private final Room sea = island.getRoom("Sea");
+    private final Room beach = island.getRoom("Beach");
+    private final Room jungle = island.getRoom("Jungle");
+    private final Room cave = island.getRoom("Cave");
+    private World world;
+
+    @BeforeEach
+    void createWorld() {
+        world = createWorld(16);
+    }
+
+    @AfterEach
+    void closeWorld() {
+        world.close();
+    }
+
+    private World createWorld(int queueCapacity) {
+        World created = new World(2, queueCapacity);
+        for (Room room : island.getRooms()) {
+            boolean coast = room == sea || room == beach;
+            created.assign(room, coast ? 0 : 1);
+        }
+        return created;
+    }
+
+    @Test
+    void lineGoesOnAfterCrossingToAnotherShard() {
+        Game game = join(world, "Ana");
+        String line = "go north; go north; status; inspect";
+
+        byte[] shared = world.play(game, line).join();
+
+        // Same output as the same line played alone
+        assertArrayEquals(new Game("Bo").runCommands(line), shared);
+        assertSame(jungle, game.getCurrentRoom());
+        assertEquals(0, players(sea));
+        assertEquals(0, players(beach));
+        assertEquals(1, players(jungle));
+    }
+
+    @Test
+    void walkingBackHandsThePlayerBack() {
+        Game game = join(world, "Ana");
+        world.play(game, "go north; go north; go south; go north; go south").join();
+
+        assertSame(beach, game.getCurrentRoom());
+        assertEquals(1, players(beach));
+        assertEquals(0, players(jungle));
+    }
+
+    @Test
+    void roomsAreSharedByAllGames() {
+        Game ana = join(world, "Ana");
+        Game bo = join(world, "Bo");
+
+        String first = play(ana, TO_THE_GOLD);
+        assertTrue(first.contains(Messages.GOT_GOLD.toString()), first);
+
+        // The knife and the gold are gone for everybody
+        String second = play(bo, "go north; go north; take knife");
+        assertTrue(second.contains(Messages.ITEM_NOT_HERE.toString()), second);
+        assertTrue(world.execute(cave, () -> world.stateOf(cave).getItems(cave).isEmpty()).join());
+        // Each game's own copy stays untouched
+        assertEquals(1, bo.getWorld().countItem("gold"));
+    }
+
+    @Test
+    void fullQueueStopsTheLineBeforeTheMove() throws InterruptedException {
+        world.close();
+        world = createWorld(1);
+        Game game = join(world, "Ana");
+
+        // Keeps shard 1 busy and fills its one-task queue
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        world.execute(jungle, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        started.await();
+        world.execute(jungle, () -> null);
+
+        String output = play(game, "go north; go north; status");
+        release.countDown();
+
+        // The first move stayed on shard 0 and happened; the second one did not
+        assertTrue(output.endsWith(Messages.PATH_CROWDED.toString()), output);
+        assertFalse(output.contains("=== Status ==="), output);
+        assertSame(beach, game.getCurrentRoom());
+        assertEquals(1, players(beach));
+        assertEquals(0, players(jungle));
+
+        // Once the path is free, the player can go on
+        play(game, "go north");
+        assertSame(jungle, game.getCurrentRoom());
+        assertEquals(0, players(beach));
+        assertEquals(1, players(jungle));
+    }
+
+    @Test
+    void finishedGamesLeaveTheWorld() {
+        Game quitter = join(world, "Ana");
+        Game eaten = join(world, "Bo");
+        Game winner = join(world, "Cy");
+
+        play(quitter, "go north; go north; quit");
+        play(eaten, "go north; go south");
+        String won = play(winner, TO_THE_GOLD + "; go east; go south");
+
+        assertTrue(quitter.isFinished());
+        assertTrue(eaten.isFinished());
+        assertTrue(won.contains("YOU WON THE GAME!"), won);
+        for (Room room : island.getRooms()) {
+            assertEquals(0, players(room), room.getName());
+        }
+    }
+
+    @Test
+    void revivedGameIsStillInTheWorld() {
+        Game game = join(world, "Ana");
+        play(game, "go north; go north");
+        assertEquals(1, players(jungle));
+
+        SessionStore store = new SessionStore();
+        store.hibernate("ana", game);
+        Game revived = store.revive("ana");
+        play(revived, "go south");
+
+        assertSame(beach, revived.getCurrentRoom());
+        assertEquals(0, players(jungle));
+        assertEquals(1, players(beach));
+    }
+
+    private Game join(World target, String name) {
+        Game game = new Game(name);
+        target.join(game).join();
+        return game;
+    }
+
+    private String play(Game game, String line) {
+        return new String(world.play(game, line).join(), StandardCharsets.UTF_8);
+    }
+
+    private int players(Room room) {
+        return world.countPlayers(room).join();
+    }
+}
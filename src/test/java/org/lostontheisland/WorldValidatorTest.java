@@ -0,0 +1,120 @@
+package org.lostontheisland;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WORLD VALIDATOR TEST - Checks that broken maps are found
+ *
+ * Each test builds a small map by hand and validates it
+ * with the treasure "gold" and the win room "Beach".
+ */
+class WorldValidatorTest {
+
+    @Test
+    void islandIsValid() {
+        ValidationReport report = WorldTemplate.island().validate("gold", "Beach");
+        assertTrue(report.isValid(), report.toString());
+    }
+
+    @Test
+    void oneWayExitIntoADeadEndIsATrap() {
+        Room beach = new Room("Beach", "Sand");
+        Room cave = new Room("Cave", "Dark");
+        Room pit = new Room("Pit", "No way out");
+        beach.setExit("north", cave);
+        cave.setExit("south", beach);
+        cave.setExit("down", pit);      // No way back up
+        cave.addItem(gold());
+
+        ValidationReport report = validate(beach, beach, cave, pit);
+        assertEquals(List.of("Pit"), report.getTrapRooms());
+        assertTrue(report.isWinnable(), report.toString());
+        assertFalse(report.isValid());
+    }
+
+    @Test
+    void wayBackThroughADeadlyRoomIsATrap() {
+        Room beach = new Room("Beach", "Sand");
+        Room cliff = new Room("Cliff", "High rocks");
+        Room sea = new Room("Sea", "Sharks");
+        beach.setExit("up", cliff);
+        cliff.setExit("jump", sea);     // The only way back swims past the shark
+        sea.setExit("north", beach);
+        sea.addAnimal(new Animal("shark", "A dangerous shark", 8));
+        beach.addItem(gold());
+
+        ValidationReport report = validate(beach, beach, cliff, sea);
+        assertEquals(List.of("Cliff"), report.getTrapRooms());
+        // The shark's room is a hazard, not a room to report
+        assertTrue(report.getUnreachableRooms().isEmpty(), report.toString());
+    }
+
+    @Test
+    void deadlyStartRoomIsNotATrap() {
+        Room sea = new Room("Sea", "Sharks");
+        Room beach = new Room("Beach", "Sand");
+        sea.setExit("north", beach);
+        beach.setExit("south", sea);
+        sea.addAnimal(new Animal("shark", "A dangerous shark", 8));
+        beach.addItem(gold());
+
+        ValidationReport report = validate(sea, sea, beach);
+        assertTrue(report.isValid(), report.toString());
+    }
+
+    @Test
+    void guardedCaveWithoutKnifeIsLocked() {
+        Room beach = new Room("Beach", "Sand");
+        Room cave = new Room("Cave", "Dark");
+        beach.setExit("north", cave);
+        cave.setExit("south", beach);
+        cave.addAnimal(new Animal("bear", "A huge fierce bear!", 10));
+        cave.addItem(gold());
+
+        ValidationReport report = validate(beach, beach, cave);
+        assertEquals(List.of("Cave"), report.getLockedRooms());
+        assertFalse(report.isWinnable());
+        assertEquals("the gold can't be reached", report.getWinProblem());
+    }
+
+    @Test
+    void guardedCaveWithKnifeIsWinnable() {
+        Room beach = new Room("Beach", "Sand");
+        Room cave = new Room("Cave", "Dark");
+        beach.setExit("north", cave);
+        cave.setExit("south", beach);
+        beach.addItem(new Item("knife", "A sharp knife", true));
+        cave.addAnimal(new Animal("bear", "A huge fierce bear!", 10));
+        cave.addItem(gold());
+
+        ValidationReport report = validate(beach, beach, cave);
+        assertTrue(report.isValid(), report.toString());
+    }
+
+    @Test
+    void unreachableTreasureIsFound() {
+        Room beach = new Room("Beach", "Sand");
+        Room jungle = new Room("Jungle", "Trees");
+        Room vault = new Room("Vault", "Sealed");
+        beach.setExit("north", jungle);
+        jungle.setExit("south", beach);
+        vault.addItem(gold());          // No exit leads here
+
+        ValidationReport report = validate(beach, beach, jungle, vault);
+        assertEquals(List.of("Vault"), report.getUnreachableRooms());
+        assertFalse(report.isWinnable());
+        assertEquals("the gold can't be reached", report.getWinProblem());
+    }
+
+    private static ValidationReport validate(Room start, Room... rooms) {
+        return new WorldValidator(start, List.of(rooms)).validate("gold", "Beach");
+    }
+
+    private static Item gold() {
+        return new Item("gold", "The island's treasure!", true);
+    }
+}